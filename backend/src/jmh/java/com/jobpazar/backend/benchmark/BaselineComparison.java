@@ -0,0 +1,104 @@
+package com.jobpazar.backend.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH result file with a saved baseline and fails on regressions.
+ * <p>
+ * Benchmarks live in src/jmh/java and are only compiled with the {@code jmh} profile.
+ * <pre>
+ * # run everything (results go to target/jmh-result.json)
+ * ./mvnw -Pjmh test-compile exec:exec
+ *
+ * # run a subset / shorter run, any JMH option goes into jmh.args
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="Serialization -wi 2 -i 3"
+ *
+ * # keep the current numbers as the baseline (same machine, same JDK)
+ * cp target/jmh-result.json src/jmh/baseline.json
+ *
+ * # after a change: run again, then compare against the baseline
+ * ./mvnw -Pjmh exec:exec@compare
+ * ./mvnw -Pjmh exec:exec@compare -Djmh.threshold=5
+ * </pre>
+ * A benchmark counts as a regression when it is more than jmh.threshold percent
+ * (default 10) slower than the baseline and the difference is larger than the
+ * combined error of both runs. Baselines are only comparable on the same hardware.
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.err.println("No baseline at " + baselineFile + " - copy a result file there first.");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        JsonMapper mapper = JsonMapper.builder().build();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            String unit = now.path("primaryMetric").path("scoreUnit").asString();
+            double score = now.path("primaryMetric").path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double error = error(now) + error(before);
+            // Throughput: higher is better; all time modes: lower is better
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asString());
+            double change = (score - baseScore) / baseScore * 100.0;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean regression = slowdown > threshold && Math.abs(score - baseScore) > error;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baseScore, score, change, unit,
+                    regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+        System.out.println("No regressions over " + threshold + "%");
+    }
+
+    // Key: benchmark method plus its @Param values, e.g. "...BloomFilterBenchmark.put insertions=100000"
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asString());
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asString()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,168 @@
+package com.jobpazar.backend.benchmark;
+
+import com.jobpazar.backend.dto.JobResponse;
+import com.jobpazar.backend.dto.NotificationResponse;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.Notification;
+import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON writing of the list responses. The job feed is measured three ways: the entity
+ * graph (Job with the full employer, as it used to be returned), JobResponse records
+ * in one list, and records written one by one to a generator as the controller streams
+ * them. Notifications compare the per-item HashMap the controller used to build with
+ * the NotificationResponse record. A job's proposals are still entity graphs. Every
+ * case runs with the plain mapper and with the Blackbird module the application uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "20", "500" })
+    private int rows;
+
+    @Param({ "default", "blackbird" })
+    private String mapperType;
+
+    private JsonMapper mapper;
+    private List<Job> jobs;
+    private List<Proposal> proposals;
+    private List<Notification> notifications;
+    private List<NotificationResponse> notificationResponses;
+
+    @Setup
+    public void setUp() {
+        mapper = "blackbird".equals(mapperType)
+                ? JsonMapper.builder().addModule(new BlackbirdModule()).build()
+                : JsonMapper.builder().build();
+
+        List<User> employers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            employers.add(user(i + 1L, "isveren" + i, "EMPLOYER"));
+        }
+
+        jobs = new ArrayList<>();
+        proposals = new ArrayList<>();
+        notifications = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            Job job = new Job();
+            job.setId((long) i + 1);
+            job.setTitle("Mobil uygulama geliştirme #" + i);
+            job.setDescription("React Native ile iOS ve Android için sipariş takip uygulaması. ".repeat(5));
+            job.setBudget("Medium");
+            job.setCategory("Software");
+            job.setDuration(14);
+            job.setStatus(JobStatus.OPEN);
+            job.setCreatedAt(now.minusHours(i));
+            job.setEmployer(employers.get(i % employers.size()));
+            jobs.add(job);
+
+            Proposal proposal = new Proposal();
+            proposal.setId((long) i + 1);
+            proposal.setJob(jobs.get(0));
+            proposal.setFreelancer(user(1000L + i, "freelancer" + i, "FREELANCER"));
+            proposal.setPrice(9000.0 + i);
+            proposal.setDaysToDeliver(10);
+            proposal.setCoverLetter("Benzer projelerde 4 yıllık tecrübem var, iki hafta içinde teslim ederim.");
+            proposal.setCreatedAt(now.minusMinutes(i));
+            proposals.add(proposal);
+
+            Notification notification = new Notification();
+            notification.setId((long) i + 1);
+            notification.setMessage("Yeni teklif: 'Mobil uygulama' ilanınıza teklif geldi (" + i + ")");
+            notification.setRead(i % 3 == 0);
+            notification.setCreatedAt(now.minusMinutes(i));
+            notifications.add(notification);
+        }
+        notificationResponses = notifications.stream()
+                .map(n -> new NotificationResponse(n.getId(), n.getMessage(), n.isRead(), n.getCreatedAt()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] jobFeedEntities() {
+        return mapper.writeValueAsBytes(jobs);
+    }
+
+    @Benchmark
+    public byte[] jobFeedRecords() {
+        return mapper.writeValueAsBytes(jobs.stream().map(JobResponse::from).toList());
+    }
+
+    @Benchmark
+    public byte[] jobFeedStreamed() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            generator.writeStartArray();
+            for (Job job : jobs) {
+                mapper.writeValue(generator, JobResponse.from(job));
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] notificationsMaps() {
+        List<Map<String, Object>> result = notifications.stream().map(n -> {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", n.getId());
+            map.put("message", n.getMessage());
+            map.put("isRead", n.isRead());
+            map.put("createdAt", n.getCreatedAt());
+            return map;
+        }).toList();
+        return mapper.writeValueAsBytes(result);
+    }
+
+    // The repository now returns these records directly, so only the writing is measured
+    @Benchmark
+    public byte[] notificationsRecords() {
+        return mapper.writeValueAsBytes(notificationResponses);
+    }
+
+    @Benchmark
+    public byte[] proposalsForJob() {
+        return mapper.writeValueAsBytes(proposals);
+    }
+
+    private static User user(Long id, String username, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@jobpazar.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuJ3yq7bq0C2oDqv8Vqz5K5h0Yw9Y2q2e");
+        user.setRole(role);
+        user.setBio("Java, Spring Boot, React Native");
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package com.jobpazar.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The username/email availability filter: lookups of taken and free names
+ * (the free case is the one that skips the database) and inserts on registration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BloomFilterBenchmark {
+
+    private static final int NAMES = 1024;
+
+    @Param({ "100000", "1000000" })
+    private long insertions;
+
+    private BloomFilter filter;
+    private String[] taken;
+    private String[] free;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(insertions, 0.01);
+        for (long i = 0; i < insertions; i++) {
+            filter.put("user" + i);
+        }
+        taken = new String[NAMES];
+        free = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            taken[i] = "user" + (i * 97L % insertions);
+            free[i] = "free.name" + i + "@jobpazar.com";
+        }
+    }
+
+    @Benchmark
+    public boolean mightContainTaken() {
+        return filter.mightContain(taken[next++ & (NAMES - 1)]);
+    }
+
+    @Benchmark
+    public boolean mightContainFree() {
+        return filter.mightContain(free[next++ & (NAMES - 1)]);
+    }
+
+    @Benchmark
+    public void put() {
+        filter.put(free[next++ & (NAMES - 1)]);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobpazar.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt building behind the AIController endpoints: the generate-proposal inputs as the
+ * controller assembles them, an oversized draft that has to be trimmed to the budget,
+ * and the bare PromptTemplate render.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBenchmark {
+
+    private PromptRegistry registry;
+    private PromptTemplate template;
+    private String jobDescription;
+    private String userDraft;
+    private String longDraft;
+
+    @Setup
+    public void setUp() {
+        registry = new PromptRegistry(new MockEnvironment());
+        template = PromptTemplate.compile("bench", "İş Tanımı: {jobDescription}\nNotlar: {userDraft}\n");
+
+        jobDescription = "Mevcut e-ticaret sitemiz için ödeme ve kargo entegrasyonlarını yapacak, "
+                + "Spring Boot ve MySQL deneyimli bir geliştirici arıyoruz. ".repeat(4);
+        userDraft = "5 yıllık Java, Spring Boot, REST API ve iyzico entegrasyonu tecrübem var.";
+        longDraft = "Spring Boot, Hibernate, MySQL, Redis, Docker ve Kubernetes ile çalıştım. ".repeat(200);
+    }
+
+    @Benchmark
+    public String generateProposalPrompt() {
+        Map<String, String> inputs = new HashMap<>();
+        inputs.put("jobDescription", jobDescription);
+        inputs.put("userDraft", userDraft);
+        return registry.render(PromptRegistry.GENERATE_PROPOSAL, inputs);
+    }
+
+    @Benchmark
+    public String generateProposalPromptOverBudget() {
+        Map<String, String> inputs = new HashMap<>();
+        inputs.put("jobDescription", jobDescription);
+        inputs.put("userDraft", longDraft);
+        return registry.render(PromptRegistry.GENERATE_PROPOSAL, inputs);
+    }
+
+    @Benchmark
+    public String templateRender() {
+        return template.render(Map.of("jobDescription", jobDescription, "userDraft", userDraft));
+    }
+}
@@ -0,0 +1,103 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.benchmark.Stubs;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.ProposalRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget check on proposal submit, and accepting a proposal with the mail text it builds
+ * (repositories stubbed, the mail service only keeps the last body).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProposalServiceBenchmark {
+
+    // English and Turkish labels as sent by the mobile app; "Custom" falls through to the default
+    @Param({ "Very Low", "Orta", "Çok Yüksek", "Custom" })
+    private String budget;
+
+    @Param({ "10" })
+    private int proposalsPerJob;
+
+    private Double price;
+    private ProposalService proposalService;
+    private Proposal accepted;
+    private String lastMail;
+
+    @Setup
+    public void setUp() {
+        price = 12500.0;
+
+        User employer = user(1L, "isveren");
+        Job job = new Job();
+        job.setId(1L);
+        job.setTitle("React Native ile mobil uygulama geliştirme");
+        job.setBudget(budget);
+        job.setEmployer(employer);
+
+        List<Proposal> proposals = new ArrayList<>();
+        for (int i = 0; i < proposalsPerJob; i++) {
+            Proposal proposal = new Proposal();
+            proposal.setId((long) i + 1);
+            proposal.setJob(job);
+            proposal.setFreelancer(user(i + 2L, "freelancer" + i));
+            proposal.setPrice(price);
+            proposals.add(proposal);
+        }
+        accepted = proposals.get(0);
+
+        proposalService = new ProposalService();
+        ReflectionTestUtils.setField(proposalService, "proposalRepository", Stubs.repository(ProposalRepository.class,
+                Map.of("findById", args -> Optional.of(accepted),
+                        "save", args -> args[0],
+                        "findAllByJobId", args -> proposals)));
+        ReflectionTestUtils.setField(proposalService, "jobRepository", Stubs.repository(JobRepository.class,
+                Map.of("save", args -> args[0])));
+        ReflectionTestUtils.setField(proposalService, "mailService",
+                (IMailService) (to, subject, body) -> lastMail = body);
+    }
+
+    @Benchmark
+    public boolean priceWithinBudget() {
+        return ProposalService.isPriceWithinBudget(price, budget);
+    }
+
+    @Benchmark
+    public String acceptProposal() {
+        proposalService.acceptProposal(accepted.getId());
+        return lastMail;
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@jobpazar.com");
+        return user;
+    }
+}
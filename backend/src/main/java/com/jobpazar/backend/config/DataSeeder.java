@@ -2,6 +2,7 @@ package com.jobpazar.backend.config;
 
 import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.PasswordHasher;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -10,16 +11,26 @@ public class DataSeeder implements CommandLineRunner {
 
     private final UserRepository userRepository;
 
-    public DataSeeder(UserRepository userRepository) {
+    private final PasswordHasher passwordHasher;
+
+    private final StartupTasks startupTasks;
+
+    public DataSeeder(UserRepository userRepository, PasswordHasher passwordHasher, StartupTasks startupTasks) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.startupTasks = startupTasks;
     }
 
     @Override
     public void run(String... args) throws Exception {
+        startupTasks.runNonCritical("data-seeder", this::seedAdmins);
+    }
+
+    private void seedAdmins() {
         if (userRepository.findByUsername("admin").isEmpty()) {
             User admin = new User();
             admin.setUsername("admin");
-            admin.setPassword("admin"); // In production, use BCrypt!
+            admin.setPassword(passwordHasher.hash("admin"));
             admin.setEmail("admin@jobpazar.com");
             admin.setRole("ADMIN");
             admin.setRequestedRole(null); // Explicitly ensure no requested role
@@ -38,7 +49,7 @@ public class DataSeeder implements CommandLineRunner {
         if (userRepository.findByUsername("admin2").isEmpty()) {
             User admin2 = new User();
             admin2.setUsername("admin2");
-            admin2.setPassword("admin");
+            admin2.setPassword(passwordHasher.hash("admin"));
             admin2.setEmail("admin2@jobpazar.com");
             admin2.setRole("ADMIN");
             admin2.setRequestedRole(null);
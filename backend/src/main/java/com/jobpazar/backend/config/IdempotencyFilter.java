@@ -0,0 +1,206 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.security.AuthenticatedUser;
+import com.jobpazar.backend.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Makes the app's retried writes safe: a POST to one of the endpoints below that carries
+ * an "Idempotency-Key" header runs once, and repeats with the same key get the first
+ * response again (with "Idempotent-Replayed: true") instead of creating another row,
+ * mail or notification. Keys are scoped to the caller and the endpoint; reusing a key
+ * with a different body is rejected with 422, a repeat that arrives while the first
+ * request is still running gets 409. Requests without the header are not affected.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE) // After AuthTokenFilter, so keys can be scoped to the caller
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private static final List<Pattern> ENDPOINTS = List.of(
+            Pattern.compile("/api/jobs"),
+            Pattern.compile("/api/proposals/\\d+"),
+            Pattern.compile("/api/feedbacks"),
+            Pattern.compile("/api/jobs/deliver/\\d+"));
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ENDPOINTS.stream().noneMatch(endpoint -> endpoint.matcher(path).matches());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // The body is read here to fingerprint it, then handed to the controller from memory
+        byte[] body = request.getInputStream().readAllBytes();
+        String key = scope(request) + ":POST " + request.getRequestURI() + ":" + clientKey;
+        String requestHash = fingerprint(request.getQueryString(), body);
+        IdempotencyService.Claim claim = idempotencyService.begin(key, requestHash);
+
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                reject(response, HttpServletResponse.SC_CONFLICT, "A request with this " + HEADER + " is in progress");
+            }
+            case MISMATCH -> reject(response, 422, HEADER + " was already used with a different request body");
+            case CLAIMED -> execute(new CachedBodyRequest(request, body), response, chain, key, requestHash);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain, String key,
+            String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            // 5xx is not a final answer: let the client retry with the same key
+            if (wrapper.getStatus() < 500) {
+                idempotencyService.complete(key, new IdempotencyService.StoredResponse(requestHash,
+                        wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyService.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse response, IdempotencyService.StoredResponse stored)
+            throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // Callers without a token are told apart by address, so one client cannot replay or block
+    // another client's request by guessing its key
+    private static String scope(HttpServletRequest request) {
+        AuthenticatedUser user = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.ATTRIBUTE);
+        return user != null ? "user-" + user.id() : "anonymous-" + request.getRemoteAddr();
+    }
+
+    // Query parameters (e.g. employerId) are part of the request as much as the body
+    private static String fingerprint(String query, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (query != null) {
+                digest.update(query.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    // Serves the already-read body to the rest of the chain
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory: it is available at once and then complete
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.jobpazar.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JacksonConfig {
+
+    // Registered on Spring's JsonMapper: getters, setters and constructors are called through
+    // generated lambdas (LambdaMetafactory) instead of reflection
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.service.GeminiTrafficGuard;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters that are read from existing state rather than recorded inline.
+ * Per-endpoint (http.server.requests), per-repository-method
+ * (spring.data.repository.invocations) and pool (hikaricp.*) meters come from Boot;
+ * gemini.requests, gemini.prompt.size and mail.dispatch are recorded in the services.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder geminiGuardMetrics(GeminiTrafficGuard guard) {
+        return registry -> {
+            Gauge.builder("gemini.guard.queue.depth", guard, GeminiTrafficGuard::getQueueDepth)
+                    .description("Gemini calls waiting for a rate-limit slot")
+                    .register(registry);
+            Gauge.builder("gemini.guard.in.flight", guard, GeminiTrafficGuard::getInFlight)
+                    .register(registry);
+            Gauge.builder("gemini.guard.breaker.state", guard, g -> g.getBreakerState().ordinal())
+                    .description("0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN")
+                    .register(registry);
+            FunctionCounter.builder("gemini.guard.rejected", guard, GeminiTrafficGuard::getRejectedQueueFull)
+                    .tag("reason", "queue_full")
+                    .register(registry);
+            FunctionCounter.builder("gemini.guard.rejected", guard, GeminiTrafficGuard::getRejectedPerClient)
+                    .tag("reason", "per_client")
+                    .register(registry);
+            FunctionCounter.builder("gemini.guard.rejected", guard, GeminiTrafficGuard::getRejectedBreakerOpen)
+                    .tag("reason", "breaker_open")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitFilter filter) {
+        return registry -> {
+            for (RateLimitFilter.Group group : RateLimitFilter.Group.values()) {
+                FunctionCounter.builder("http.ratelimit.rejected", filter, f -> f.getRejected(group))
+                        .description("Requests answered with 429 by RateLimitFilter")
+                        .tag("group", group.name().toLowerCase())
+                        .register(registry);
+            }
+            Gauge.builder("http.ratelimit.tracked.keys", filter, RateLimitFilter::getTrackedKeys)
+                    .register(registry);
+        };
+    }
+}
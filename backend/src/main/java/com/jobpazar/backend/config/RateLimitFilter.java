@@ -0,0 +1,145 @@
+package com.jobpazar.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobpazar.backend.security.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client request limits for the API, so a single misbehaving client cannot saturate
+ * the database or use up the Gemini quota for everyone.
+ * <p>
+ * Each client (token user id, otherwise the remote address) gets one token bucket per
+ * endpoint group, configured with ratelimit.&lt;group&gt;.requests-per-minute and .burst.
+ * A bucket is a single AtomicLong holding the time its next token is due (GCRA), updated
+ * with compare-and-set, so concurrent requests never lock. Buckets live in a size-bounded
+ * Caffeine cache and are evicted once idle; an idle bucket has refilled completely anyway.
+ * A request over the limit gets 429 with Retry-After (seconds until a token is available).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 50) // After AuthTokenFilter, before IdempotencyFilter claims a key
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum Group {
+        AI, // /api/ai (Gemini calls)
+        AUTH, // login, register, refresh, availability
+        JOBS_READ, // browsing the job feed
+        WRITE, // other POST/PUT/PATCH/DELETE
+        READ // other GET
+    }
+
+    private record Limit(long intervalNanos, long toleranceNanos) {
+    }
+
+    private final boolean enabled;
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, AtomicLong> rejected = new EnumMap<>(Group.class);
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimitFilter(Environment env) {
+        this.enabled = env.getProperty("ratelimit.enabled", Boolean.class, true);
+        long longestRefillNanos = 0;
+        for (Group group : Group.values()) {
+            String prefix = "ratelimit." + group.name().toLowerCase().replace('_', '-');
+            int perMinute = env.getProperty(prefix + ".requests-per-minute", Integer.class, 120);
+            int burst = env.getProperty(prefix + ".burst", Integer.class, 20);
+            long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            limits.put(group, new Limit(interval, interval * (Math.max(1, burst) - 1)));
+            rejected.put(group, new AtomicLong());
+            longestRefillNanos = Math.max(longestRefillNanos, interval * Math.max(1, burst));
+        }
+        // Evicting a bucket before it has refilled would hand the client a fresh burst
+        Duration idle = Duration.ofMinutes(env.getProperty("ratelimit.idle-expiry-minutes", Long.class, 10L));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(env.getProperty("ratelimit.max-keys", Long.class, 100_000L))
+                .expireAfterAccess(idle.compareTo(Duration.ofNanos(longestRefillNanos)) >= 0
+                        ? idle : Duration.ofNanos(longestRefillNanos))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Group group = groupOf(request.getMethod(), path(request));
+        String key = group.name() + "|" + clientKey(request);
+        long waitNanos = tryAcquire(buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE)), limits.get(group),
+                System.nanoTime());
+        if (waitNanos > 0) {
+            rejected.get(group).incrementAndGet();
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                    waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many requests, try again later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    public long getRejected(Group group) {
+        return rejected.get(group).get();
+    }
+
+    public long getTrackedKeys() {
+        return buckets.estimatedSize();
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanoseconds until the next one is due
+    private static long tryAcquire(AtomicLong nextDue, Limit limit, long now) {
+        while (true) {
+            long due = nextDue.get();
+            long start = Math.max(due, now);
+            long wait = start - now - limit.toleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (nextDue.compareAndSet(due, start + limit.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    static Group groupOf(String method, String path) {
+        if (path.startsWith("/api/ai/")) {
+            return Group.AI;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return Group.AUTH;
+        }
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (read && (path.equals("/api/jobs") || path.startsWith("/api/jobs/"))) {
+            return Group.JOBS_READ;
+        }
+        return read ? Group.READ : Group.WRITE;
+    }
+
+    // Behind a proxy the remote address comes from X-Forwarded-For via server.forward-headers-strategy
+    private static String clientKey(HttpServletRequest request) {
+        AuthenticatedUser user = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.ATTRIBUTE);
+        return user != null ? "user:" + user.id() : "ip:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
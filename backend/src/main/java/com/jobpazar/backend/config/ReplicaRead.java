@@ -0,0 +1,23 @@
+package com.jobpazar.backend.config;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only service method whose transaction may be served by the read replica.
+ * <p>
+ * Only transactions started by such a method are routed to the replica. Other read-only
+ * transactions, such as the default ones Spring Data puts on findById/findAll, stay on the
+ * primary: the entities they load are often changed and saved right after.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,136 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.security.AuthenticatedUser;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions started by a {@link ReplicaRead} method to the replica pool
+ * and everything else to the primary.
+ * <p>
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag
+ * is only known once the transaction has started, so the physical connection has to
+ * be fetched on first use.
+ * <p>
+ * Read-your-writes (optional): once a request has started a write transaction, its
+ * later read-only transactions also go to the primary. For token users this holds for
+ * a short window across requests too, so "save, then reload the list" does not show
+ * stale data while the replica catches up.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    // Set while a @ReplicaRead method runs (see DataSourceRoutingConfig)
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private static final String WROTE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".WROTE";
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    private final boolean readYourWrites;
+    private final long stickyWindowMs;
+
+    // userId -> until when reads stay on the primary
+    private final Map<Long, Long> recentWriters = new ConcurrentHashMap<>();
+
+    private final AtomicLong primaryRoutes = new AtomicLong();
+    private final AtomicLong replicaRoutes = new AtomicLong();
+
+    public ReplicaRoutingDataSource(boolean readYourWrites, long stickyWindowMs) {
+        this.readYourWrites = readYourWrites;
+        this.stickyWindowMs = stickyWindowMs;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = route();
+        (route == Route.PRIMARY ? primaryRoutes : replicaRoutes).incrementAndGet();
+        return route;
+    }
+
+    // Marks whether the current thread is inside a @ReplicaRead method; returns the previous
+    // value so nested calls can restore it
+    public static boolean markReplicaRead(boolean replicaRead) {
+        boolean previous = Boolean.TRUE.equals(REPLICA_READ.get());
+        if (replicaRead) {
+            REPLICA_READ.set(Boolean.TRUE);
+        } else {
+            REPLICA_READ.remove();
+        }
+        return previous;
+    }
+
+    public long getPrimaryRoutes() {
+        return primaryRoutes.get();
+    }
+
+    public long getReplicaRoutes() {
+        return replicaRoutes.get();
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Reads outside a transaction (e.g. lazy loading) are not writes
+            if (readYourWrites && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite();
+            }
+            return Route.PRIMARY;
+        }
+        if (!Boolean.TRUE.equals(REPLICA_READ.get())) {
+            return Route.PRIMARY;
+        }
+        if (readYourWrites && wroteRecently()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private void recordWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user != null && stickyWindowMs > 0) {
+            long now = System.currentTimeMillis();
+            if (recentWriters.size() > MAX_TRACKED_USERS) {
+                recentWriters.values().removeIf(until -> until < now);
+            }
+            recentWriters.put(user.id(), now + stickyWindowMs);
+        }
+    }
+
+    private boolean wroteRecently() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        if (attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return false;
+        }
+        Long until = recentWriters.get(user.id());
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            recentWriters.remove(user.id(), until);
+            return false;
+        }
+        return true;
+    }
+}
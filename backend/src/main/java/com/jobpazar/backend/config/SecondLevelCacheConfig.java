@@ -0,0 +1,37 @@
+package com.jobpazar.backend.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * JCache manager for the Hibernate second-level cache, owned by this application context.
+ * <p>
+ * Left to Hibernate, the manager comes from the JVM-wide caching provider, so two contexts in
+ * one JVM (the test suite) would share the "user" and "job" regions across different databases.
+ * The regions and their sizes are read from caffeine-jcache.conf.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.second-level-cache.config:classpath:caffeine-jcache.conf}") String config) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        return new CacheManagerImpl(provider, false, URI.create(config), provider.getDefaultClassLoader(),
+                new Properties());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
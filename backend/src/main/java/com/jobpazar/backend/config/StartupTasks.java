@@ -0,0 +1,34 @@
+package com.jobpazar.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup work the application does not need in order to serve requests (default admin
+ * accounts, warming in-memory summaries). With startup.defer-non-critical=true it runs on
+ * a background thread, so the instance reports ready without waiting for it; otherwise it
+ * runs in place as before.
+ */
+@Component
+public class StartupTasks {
+
+    @Value("${startup.defer-non-critical:false}")
+    private boolean deferNonCritical;
+
+    public void runNonCritical(String name, Runnable task) {
+        if (!deferNonCritical) {
+            task.run();
+            return;
+        }
+        Thread.ofVirtual().name("startup-" + name).start(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                task.run();
+                System.out.println("Deferred startup task " + name + " done in "
+                        + (System.currentTimeMillis() - start) + " ms");
+            } catch (RuntimeException e) {
+                System.err.println("Deferred startup task " + name + " failed: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,452 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.security.PasswordHasher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a production-sized synthetic data set for performance testing.
+ * <p>
+ * Only active with the {@code synthetic-data} profile, e.g.
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=synthetic-data \
+ *     -Dspring-boot.run.arguments="--synthetic.users=1000000 --synthetic.jobs=2000000"
+ * </pre>
+ * Rows are appended after the current maximum ids, so it can run against a database
+ * that already has data. Every value is derived from (seed, row index), which makes a
+ * data set reproducible and lets each table be split into ranges that are loaded in
+ * parallel, each on its own connection, with multi-row INSERT statements.
+ * <p>
+ * Distributions: 20% employers / 78% freelancers / 2% plain users; a few employers post
+ * most of the jobs; categories, budgets and statuses are weighted like the live site;
+ * proposals per job follow a long-tailed (exponential) distribution; accepted/in-progress
+ * jobs have one ACCEPTED proposal. All synthetic users share synthetic.password.
+ */
+@Component
+@Profile("synthetic-data")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    // Same labels as the mobile app's pickers
+    private static final String[] CATEGORIES = { "Yazılım Geliştirme", "Grafik Tasarım", "Dijital Pazarlama",
+            "Çeviri & İçerik", "Video & Animasyon", "Diğer" };
+    private static final int[] CATEGORY_WEIGHTS = { 35, 20, 18, 12, 10, 5 };
+
+    private static final String[] BUDGETS = { "Very Low", "Low", "Medium", "High", "Very High" };
+    private static final int[] BUDGET_WEIGHTS = { 20, 35, 28, 12, 5 };
+    private static final double[][] BUDGET_PRICES = { { 100, 1000 }, { 1001, 5000 }, { 5001, 15000 },
+            { 15001, 49999 }, { 50000, 150000 } };
+
+    private static final String[] JOB_STATUSES = { "OPEN", "IN_PROGRESS", "REVIEW", "COMPLETED", "CANCELLED" };
+    private static final int[] JOB_STATUS_WEIGHTS = { 35, 15, 5, 40, 5 };
+
+    private static final String[] TITLES = { "Mobil uygulama geliştirme", "Logo ve kurumsal kimlik tasarımı",
+            "E-ticaret sitesi için SEO çalışması", "Web sitesi metinlerinin İngilizce çevirisi",
+            "Tanıtım videosu montajı", "Spring Boot REST API geliştirme", "Sosyal medya yönetimi",
+            "React arayüz hatalarının giderilmesi", "Ürün fotoğrafı düzenleme", "Blog yazısı (10 adet)" };
+
+    private static final String[] NOTIFICATIONS = { "Yeni teklif: ilanınıza bir teklif geldi.",
+            "Tebrikler! Teklifiniz kabul edildi.", "İş Teslim Edildi: freelancer işi teslim etti.",
+            "İş Onaylandı: işi tamamladınız! Ödeme serbest bırakıldı.", "Revize Talebi: iş için revize istendi." };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${synthetic.users:1000000}")
+    private long users;
+
+    @Value("${synthetic.jobs:2000000}")
+    private long jobs;
+
+    @Value("${synthetic.proposals-per-job:3.0}")
+    private double proposalsPerJob;
+
+    @Value("${synthetic.notifications:1000000}")
+    private long notifications;
+
+    @Value("${synthetic.feedbacks:100000}")
+    private long feedbacks;
+
+    @Value("${synthetic.seed:42}")
+    private long seed;
+
+    @Value("${synthetic.threads:4}")
+    private int threads;
+
+    @Value("${synthetic.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${synthetic.password:password}")
+    private String password;
+
+    @Value("${synthetic.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private long userBase;
+    private long jobBase;
+    private long employerCount;
+    private long freelancerCount;
+    private String passwordHash;
+    private LocalDateTime now;
+
+    @Override
+    public void run(String... args) throws Exception {
+        now = LocalDateTime.now().withNano(0);
+        passwordHash = passwordHasher.hash(password);
+        userBase = maxId("users");
+        jobBase = maxId("jobs");
+        employerCount = countRoleSlots(users, 0, 20);
+        freelancerCount = countRoleSlots(users, 20, 98);
+        if (employerCount == 0 || freelancerCount == 0) {
+            throw new IllegalStateException("synthetic.users must be at least 21");
+        }
+
+        System.out.println("Synthetic data: " + users + " users, " + jobs + " jobs, ~"
+                + Math.round(jobs * proposalsPerJob) + " proposals, " + notifications + " notifications, "
+                + feedbacks + " feedbacks (seed " + seed + ", " + threads + " threads)");
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Parents first; the last three tables only reference users and jobs
+            load(executor, "users", users, this::insertUsers);
+            load(executor, "jobs", jobs, this::insertJobs);
+            load(executor, "proposals", jobs, this::insertProposals);
+            load(executor, "notifications", notifications, this::insertNotifications);
+            load(executor, "feedbacks", feedbacks, this::insertFeedbacks);
+        } finally {
+            executor.shutdown();
+        }
+
+        System.out.println("Synthetic data loaded in " + (System.nanoTime() - start) / 1_000_000_000 + " s");
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+        // Otherwise the startup listeners rebuild the admin stats and the availability filter
+    }
+
+    private interface RangeLoader {
+        long load(Connection connection, long from, long to) throws SQLException;
+    }
+
+    // Splits [0, count) into one range per thread and loads them in parallel
+    private void load(ExecutorService executor, String table, long count, RangeLoader loader) throws Exception {
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        long step = (count + threads - 1) / threads;
+        List<Future<?>> futures = new ArrayList<>();
+        for (long from = 0; from < count; from += step) {
+            long rangeFrom = from;
+            long rangeTo = Math.min(count, from + step);
+            futures.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(true);
+                    relaxChecks(connection);
+                    rows.addAndGet(loader.load(connection, rangeFrom, rangeTo));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-13s %,12d rows  %6.1f s  %,10.0f rows/s%n", table, rows.get(), seconds,
+                rows.get() / seconds);
+    }
+
+    private long insertUsers(Connection connection, long from, long to) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "users", rowsPerStatement, "id", "username",
+                "username_normalized", "password", "email", "email_normalized", "role", "bio", "requested_role",
+                "role_requested_at", "deleted")) {
+            for (long i = from; i < to; i++) {
+                long id = userBase + 1 + i;
+                String username = "synth" + id;
+                String email = "synth" + id + "@example.com";
+                String role = roleOf(i);
+                String requestedRole = "FREELANCER".equals(role) && chance(i, 1, 0.01) ? "EMPLOYER" : null;
+                String bio = "FREELANCER".equals(role) ? "Java, Spring Boot, React Native" : null;
+                LocalDateTime requestedAt = requestedRole != null
+                        ? now.minusMinutes((long) (uniform(i, 2) * 30 * 24 * 60)) : null;
+                insert.add(id, username, username, passwordHash, email, email, role, bio, requestedRole, requestedAt,
+                        false);
+            }
+            return insert.getRows();
+        }
+    }
+
+    private long insertJobs(Connection connection, long from, long to) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "jobs", rowsPerStatement, "id", "title",
+                "description", "budget", "category", "duration", "status", "employer_id", "created_at",
+                "started_at", "completed_at")) {
+            for (long j = from; j < to; j++) {
+                String status = JOB_STATUSES[weighted(j, 10, JOB_STATUS_WEIGHTS)];
+                LocalDateTime createdAt = jobCreatedAt(j);
+                LocalDateTime startedAt = null;
+                LocalDateTime completedAt = null;
+                int duration = 1 + (int) (uniform(j, 11) * 30);
+                if (!"OPEN".equals(status) && !"CANCELLED".equals(status)) {
+                    startedAt = createdAt.plusMinutes(30 + (long) (uniform(j, 12) * 72 * 60));
+                    if ("COMPLETED".equals(status)) {
+                        completedAt = startedAt.plusHours((long) (duration * 24 * (0.5 + uniform(j, 13))));
+                    }
+                }
+                String title = TITLES[(int) (uniform(j, 14) * TITLES.length)];
+                insert.add(jobBase + 1 + j, title, title + " için deneyimli freelancer aranıyor.",
+                        BUDGETS[weighted(j, 15, BUDGET_WEIGHTS)], CATEGORIES[weighted(j, 16, CATEGORY_WEIGHTS)],
+                        duration, status, employerId(j), createdAt, startedAt, completedAt);
+            }
+            return insert.getRows();
+        }
+    }
+
+    // Proposals are generated per job, so a range of jobs owns all of its proposals
+    private long insertProposals(Connection connection, long from, long to) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "proposals", rowsPerStatement, "cover_letter",
+                "price", "days_to_deliver", "status", "freelancer_id", "job_id", "created_at")) {
+            for (long j = from; j < to; j++) {
+                int count = (int) Math.min(60, Math.floor(-proposalsPerJob * Math.log(1 - uniform(j, 20)) + 0.5));
+                if (count == 0) {
+                    continue;
+                }
+                String jobStatus = JOB_STATUSES[weighted(j, 10, JOB_STATUS_WEIGHTS)];
+                boolean hired = !"OPEN".equals(jobStatus) && !"CANCELLED".equals(jobStatus);
+                double[] prices = BUDGET_PRICES[weighted(j, 15, BUDGET_WEIGHTS)];
+                LocalDateTime jobCreatedAt = jobCreatedAt(j);
+                long firstFreelancer = (long) (uniform(j, 21) * freelancerCount);
+
+                for (int p = 0; p < count; p++) {
+                    long key = j * 64 + p;
+                    String status;
+                    if (hired) {
+                        status = p == 0 ? "ACCEPTED" : "REJECTED";
+                    } else if ("CANCELLED".equals(jobStatus)) {
+                        status = "REJECTED";
+                    } else {
+                        status = chance(key, 22, 0.1) ? "REJECTED" : "PENDING";
+                    }
+                    double price = Math.round(prices[0] + uniform(key, 23) * (prices[1] - prices[0]));
+                    insert.add("Bu iş için uygun deneyime sahibim.", price, 1 + (int) (uniform(key, 24) * 30),
+                            status, freelancerId((firstFreelancer + p) % freelancerCount), jobBase + 1 + j,
+                            jobCreatedAt.plusMinutes((long) (uniform(key, 25) * 48 * 60)));
+                }
+            }
+            return insert.getRows();
+        }
+    }
+
+    private long insertNotifications(Connection connection, long from, long to) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "notifications", rowsPerStatement, "message",
+                "user_id", "is_read", "created_at")) {
+            for (long n = from; n < to; n++) {
+                LocalDateTime createdAt = now.minusMinutes((long) (uniform(n, 30) * 90 * 24 * 60));
+                // Older notifications are more likely to have been read
+                boolean read = uniform(n, 31) < 0.3 + 0.6 * (1 - uniform(n, 32) * uniform(n, 32));
+                insert.add(NOTIFICATIONS[(int) (uniform(n, 33) * NOTIFICATIONS.length)],
+                        userBase + 1 + skewed(n, 34, users), read, createdAt);
+            }
+            return insert.getRows();
+        }
+    }
+
+    private long insertFeedbacks(Connection connection, long from, long to) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, "feedbacks", rowsPerStatement, "message",
+                "user_id", "replied", "reply", "created_at")) {
+            for (long f = from; f < to; f++) {
+                boolean replied = chance(f, 40, 0.3);
+                insert.add("Uygulamada bildirimler geç geliyor, kontrol edebilir misiniz?",
+                        userBase + 1 + (long) (uniform(f, 41) * users), replied,
+                        replied ? "Teşekkürler, inceliyoruz." : null,
+                        now.minusMinutes((long) (uniform(f, 42) * 180 * 24 * 60)));
+            }
+            return insert.getRows();
+        }
+    }
+
+    // --- Deterministic value generation from (seed, row, field)
+
+    // Users by index: 0-19 of every 100 are employers, 20-97 freelancers, 98-99 plain users
+    private static String roleOf(long index) {
+        long slot = index % 100;
+        return slot < 20 ? "EMPLOYER" : slot < 98 ? "FREELANCER" : "USER";
+    }
+
+    private static long countRoleSlots(long total, int slotFrom, int slotTo) {
+        long full = total / 100 * (slotTo - slotFrom);
+        long rest = Math.max(0, Math.min(total % 100, slotTo) - slotFrom);
+        return full + rest;
+    }
+
+    // A few employers post most jobs: the k-th employer is picked with a cubic skew
+    private long employerId(long job) {
+        long k = (long) (Math.pow(uniform(job, 17), 3) * employerCount);
+        return userBase + 1 + (k / 20) * 100 + k % 20;
+    }
+
+    private long freelancerId(long k) {
+        return userBase + 1 + (k / 78) * 100 + 20 + k % 78;
+    }
+
+    // Newer jobs are more frequent (growing marketplace): up to two years back
+    private LocalDateTime jobCreatedAt(long job) {
+        double age = Math.pow(uniform(job, 18), 2);
+        return now.minusMinutes((long) (age * 730 * 24 * 60));
+    }
+
+    private long skewed(long row, int field, long bound) {
+        return Math.min(bound - 1, (long) (Math.pow(uniform(row, field), 2) * bound));
+    }
+
+    private boolean chance(long row, int field, double probability) {
+        return uniform(row, field) < probability;
+    }
+
+    private int weighted(long row, int field, int[] weights) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        double target = uniform(row, field) * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // SplitMix64 of (seed, row, field) mapped to [0, 1)
+    private double uniform(long row, int field) {
+        long z = seed * 0x9E3779B97F4A7C15L + row * 0xBF58476D1CE4E5B9L + field * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // MySQL: parents are always loaded before children, so the per-row FK lookups can be skipped
+    private static void relaxChecks(Connection connection) throws SQLException {
+        if (connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION foreign_key_checks = 0");
+            }
+        }
+    }
+
+    /**
+     * Buffers rows and writes them as INSERT ... VALUES (...), (...), ... statements.
+     * The full-size statement is prepared once and reused; the tail gets its own.
+     */
+    private static final class MultiRowInsert implements AutoCloseable {
+        // MySQL's limit for placeholders in one statement
+        private static final int MAX_PARAMETERS = 65535;
+
+        private final Connection connection;
+        private final String table;
+        private final String[] columns;
+        private final int batchRows;
+        private final Object[] buffer;
+        private PreparedStatement fullStatement;
+        private int buffered;
+        private long rows;
+
+        private MultiRowInsert(Connection connection, String table, int rowsPerStatement, String... columns) {
+            this.connection = connection;
+            this.table = table;
+            this.columns = columns;
+            this.batchRows = Math.max(1, Math.min(rowsPerStatement, MAX_PARAMETERS / columns.length));
+            this.buffer = new Object[batchRows * columns.length];
+        }
+
+        private void add(Object... values) throws SQLException {
+            System.arraycopy(values, 0, buffer, buffered * columns.length, columns.length);
+            if (++buffered == batchRows) {
+                if (fullStatement == null) {
+                    fullStatement = connection.prepareStatement(sql(batchRows));
+                }
+                execute(fullStatement, batchRows);
+            }
+        }
+
+        private long getRows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (buffered > 0) {
+                    try (PreparedStatement tail = connection.prepareStatement(sql(buffered))) {
+                        execute(tail, buffered);
+                    }
+                }
+            } finally {
+                if (fullStatement != null) {
+                    fullStatement.close();
+                }
+            }
+        }
+
+        private void execute(PreparedStatement statement, int rowCount) throws SQLException {
+            int parameters = rowCount * columns.length;
+            for (int i = 0; i < parameters; i++) {
+                statement.setObject(i + 1, buffer[i]);
+            }
+            statement.executeUpdate();
+            rows += rowCount;
+            buffered = 0;
+        }
+
+        private String sql(int rowCount) {
+            StringBuilder row = new StringBuilder("(");
+            for (int i = 0; i < columns.length; i++) {
+                row.append(i == 0 ? "?" : ", ?");
+            }
+            row.append(')');
+
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (")
+                    .append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(row);
+            }
+            return sql.toString();
+        }
+    }
+}
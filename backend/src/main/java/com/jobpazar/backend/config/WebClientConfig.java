@@ -1,8 +1,15 @@
 package com.jobpazar.backend.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
@@ -11,4 +18,29 @@ public class WebClientConfig {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
+
+    // Gemini için ayrı bağlantı havuzu ve timeout ayarları.
+    // Builder paylaşıldığı için clone() ile kopyalanıyor.
+    @Bean
+    public WebClient geminiWebClient(WebClient.Builder webClientBuilder,
+            @Value("${gemini.api.base}") String apiBase,
+            @Value("${gemini.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${gemini.http.read-timeout-ms:60000}") long readTimeoutMs,
+            @Value("${gemini.http.max-connections:50}") int maxConnections,
+            @Value("${gemini.http.pending-acquire-timeout-ms:10000}") long pendingAcquireTimeoutMs) {
+        ConnectionProvider provider = ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return webClientBuilder.clone()
+                .baseUrl(apiBase)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
 }
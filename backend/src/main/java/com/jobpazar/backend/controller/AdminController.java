@@ -1,16 +1,27 @@
 package com.jobpazar.backend.controller;
 
+import com.jobpazar.backend.dto.UserSummary;
 import com.jobpazar.backend.entity.Job;
 import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.JobRepository;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.PasswordHasher;
+import com.jobpazar.backend.service.AdminStatsService;
+import com.jobpazar.backend.service.EntityCacheService;
+import com.jobpazar.backend.service.IdentityAvailabilityService;
+import com.jobpazar.backend.service.ModerationService;
+import com.jobpazar.backend.service.VirtualThreadDiagnostics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,22 +41,79 @@ public class AdminController {
     @Autowired
     private com.jobpazar.backend.repository.FeedbackRepository feedbackRepository;
 
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private IdentityAvailabilityService identityAvailabilityService;
+
+    @Autowired
+    private VirtualThreadDiagnostics virtualThreadDiagnostics;
+
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(userRepository.findAll());
     }
 
+    // Paginated directory with slim rows, e.g. /api/admin/users/search?role=FREELANCER&q=ali&page=0&size=20
+    @GetMapping("/users/search")
+    public ResponseEntity<Page<UserSummary>> searchUsers(
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String role,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "false") boolean pending,
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String q,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "0") int page,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "20") int size) {
+        String prefix = null;
+        if (q != null && !q.isBlank()) {
+            // LIKE wildcards in user input would turn the prefix match into a scan
+            prefix = User.normalize(q).replace("%", "").replace("_", "") + "%";
+        }
+        String roleFilter = role != null && !role.isBlank() ? role : null;
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100), Sort.by("id"));
+        return ResponseEntity.ok(userRepository.searchSummaries(roleFilter, pending, prefix, pageable));
+    }
+
+    // Oldest pending role requests first
+    @GetMapping("/users/role-requests")
+    public ResponseEntity<Page<UserSummary>> getRoleRequests(
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "0") int page,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100),
+                Sort.by("roleRequestedAt", "id"));
+        return ResponseEntity.ok(userRepository.searchSummaries(null, true, null, pageable));
+    }
+
     @GetMapping("/jobs")
     public ResponseEntity<List<Job>> getAllJobs() {
         return ResponseEntity.ok(jobRepository.findAll());
     }
 
+    // Served from the incrementally maintained snapshot, no table scans
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Long>> getStats() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("totalUsers", userRepository.count());
-        stats.put("totalJobs", jobRepository.count());
-        // Simple counts for now
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(adminStatsService.getSnapshot());
+    }
+
+    // Virtual thread mode and where threads got pinned (runtime.pinning-diagnostics.enabled)
+    @GetMapping("/runtime")
+    public ResponseEntity<Map<String, Object>> getRuntime() {
+        return ResponseEntity.ok(virtualThreadDiagnostics.getReport());
+    }
+
+    // Second-level cache hit ratio and DB loads for User/Job, plus the availability filter
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = entityCacheService.getStats();
+        stats.put("availabilityFilter", identityAvailabilityService.getStats());
         return ResponseEntity.ok(stats);
     }
 
@@ -93,32 +161,45 @@ public class AdminController {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (updates.containsKey("email")) {
-            user.setEmail(updates.get("email"));
+        String email = updates.get("email");
+        if (email != null && !email.isEmpty()) {
+            if (!User.normalize(email).equals(user.getEmailNormalized())
+                    && userRepository.existsByEmailNormalized(User.normalize(email))) {
+                return ResponseEntity.badRequest().body("Email already registered");
+            }
+            user.setEmail(email);
         }
 
         if (updates.containsKey("password") && updates.get("password") != null && !updates.get("password").isEmpty()) {
-            // In a real app, use PasswordEncoder here!
-            user.setPassword(updates.get("password"));
+            user.setPassword(passwordHasher.hash(updates.get("password")));
         }
 
         if (updates.containsKey("bio")) {
             user.setBio(updates.get("bio"));
         }
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body("Username or email already taken");
+        } finally {
+            entityCacheService.evictUser(id);
+        }
+        identityAvailabilityService.register(user);
         return ResponseEntity.ok("User updated successfully");
     }
 
     @org.springframework.web.bind.annotation.DeleteMapping("/users/{id}")
     public ResponseEntity<?> deleteUser(@org.springframework.web.bind.annotation.PathVariable Long id) {
-        userRepository.deleteById(id);
+        // Flagged here, jobs/proposals/notifications are purged by AccountDeletionService
+        moderationService.deleteUsers(java.util.List.of(id));
         return ResponseEntity.ok("User deleted successfully");
     }
 
     @org.springframework.web.bind.annotation.DeleteMapping("/jobs/{id}")
     public ResponseEntity<?> deleteJob(@org.springframework.web.bind.annotation.PathVariable Long id) {
-        jobRepository.deleteById(id);
+        // Removes the job's proposals too
+        moderationService.deleteJob(id);
         return ResponseEntity.ok("Job deleted successfully");
     }
 }
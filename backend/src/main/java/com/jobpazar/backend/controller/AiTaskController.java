@@ -0,0 +1,54 @@
+package com.jobpazar.backend.controller;
+
+import com.jobpazar.backend.entity.AiTask;
+import com.jobpazar.backend.entity.AiTaskType;
+import com.jobpazar.backend.service.AiTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Admin only: a batch can rewrite the description of every open job
+@RestController
+@RequestMapping("/api/admin/ai/tasks")
+public class AiTaskController {
+
+    @Autowired
+    private AiTaskService aiTaskService;
+
+    // Body: { "type": "JOB_DESCRIPTION" | "FEEDBACK_TRIAGE", "ids": [1, 2, 3] }
+    // Without ids, all OPEN jobs / all unreplied feedback are queued.
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody Map<String, Object> payload) {
+        try {
+            AiTaskType type = AiTaskType.valueOf(String.valueOf(payload.get("type")));
+
+            List<Long> ids = null;
+            if (payload.get("ids") instanceof List<?> rawIds) {
+                ids = rawIds.stream()
+                        .map(id -> Long.valueOf(id.toString()))
+                        .collect(Collectors.toList());
+            }
+
+            return ResponseEntity.ok(aiTaskService.submit(type, ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Geçersiz görev tipi veya id listesi: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{batchId}")
+    public ResponseEntity<Map<String, Object>> getStatus(@PathVariable String batchId) {
+        return ResponseEntity.ok(aiTaskService.getBatchStatus(batchId));
+    }
+
+    @GetMapping("/{batchId}/results")
+    public ResponseEntity<Page<AiTask>> getResults(@PathVariable String batchId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(aiTaskService.getBatchResults(batchId, page, size));
+    }
+}
@@ -0,0 +1,47 @@
+package com.jobpazar.backend.controller;
+
+import com.jobpazar.backend.entity.DailyMarketStats;
+import com.jobpazar.backend.service.AnalyticsRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsRollupService rollupService;
+
+    // Daily time series, e.g. /api/admin/analytics/daily?from=2025-01-01&to=2025-01-31
+    @GetMapping("/daily")
+    public ResponseEntity<?> getDaily(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<DailyMarketStats> days = rollupService.getRange(from, to);
+            return ResponseEntity.ok(days);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recomputes the rollup rows; without parameters the whole history is rebuilt.
+    // Longer histories have to be backfilled in ranges of at most 3660 days.
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            int days = rollupService.backfill(from, to);
+            return ResponseEntity.ok(Map.of("daysProcessed", days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -2,11 +2,20 @@ package com.jobpazar.backend.controller;
 
 import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.AuthenticatedUser;
+import com.jobpazar.backend.security.PasswordHasher;
+import com.jobpazar.backend.security.TokenService;
+import com.jobpazar.backend.service.AccountDeletionService;
+import com.jobpazar.backend.service.EntityCacheService;
+import com.jobpazar.backend.service.IdentityAvailabilityService;
 import com.jobpazar.backend.service.IMailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,25 +26,50 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private com.jobpazar.backend.repository.JobRepository jobRepository;
+    private AccountDeletionService accountDeletionService;
 
     @Autowired
-    private com.jobpazar.backend.repository.ProposalRepository proposalRepository;
+    private IMailService mailService;
 
     @Autowired
-    private IMailService mailService;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private IdentityAvailabilityService identityAvailabilityService;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody User user) {
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
+        String username = User.normalize(user.getUsername());
+        if (username == null || username.isEmpty()) {
+            return ResponseEntity.badRequest().body("Username is required");
+        }
+        if (userRepository.existsByUsernameNormalized(username)) {
             return ResponseEntity.badRequest().body("Username already taken");
         }
+        String email = User.normalize(user.getEmail());
+        if (email != null && userRepository.existsByEmailNormalized(email)) {
+            return ResponseEntity.badRequest().body("Email already registered");
+        }
 
         if (user.getRole() == null) {
             user.setRole("EMPLOYER"); // Default role
         }
 
-        userRepository.save(user);
+        user.setPassword(passwordHasher.hash(user.getPassword()));
+
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration; the unique indexes decide
+            return ResponseEntity.badRequest().body("Username or email already taken");
+        }
+        identityAvailabilityService.register(user);
 
         // Send welcome email
         try {
@@ -60,18 +94,52 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody User loginRequest) {
-        Optional<User> userOpt = userRepository.findByUsername(loginRequest.getUsername());
+        Optional<User> userOpt = userRepository.findByUsernameNormalized(User.normalize(loginRequest.getUsername()));
 
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (user.getPassword().equals(loginRequest.getPassword())) {
-                return ResponseEntity.ok(user);
+            if (!user.isDeleted() && passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
+                // Plain text rows from before hashing (or an older cost) are upgraded here
+                if (passwordHasher.needsRehash(user.getPassword())) {
+                    user.setPassword(passwordHasher.hash(loginRequest.getPassword()));
+                    try {
+                        userRepository.save(user);
+                    } catch (DataIntegrityViolationException e) {
+                        // Saving also normalizes the email, which fails for accounts the backfill
+                        // reported as case-insensitive duplicates; the rehash waits until an admin fixes it
+                        System.err.println("Password rehash not saved for user " + user.getId() + ": " + e.getMessage());
+                    }
+                }
+                return ResponseEntity.ok(tokenResponse(user));
             }
         }
 
         return ResponseEntity.status(401).body("Invalid username or password");
     }
 
+    // For the registration form, e.g. /api/auth/availability?username=ali&email=ali@x.com
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> checkAvailability(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return ResponseEntity.ok(identityAvailabilityService.check(username, email));
+    }
+
+    // Body: { "refreshToken": "..." } - returns a new access/refresh token pair
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        AuthenticatedUser tokenUser = tokenService.verify(request.get("refreshToken"), TokenService.REFRESH);
+        if (tokenUser == null) {
+            return ResponseEntity.status(401).body("Invalid or expired refresh token");
+        }
+
+        // The only lookup in the token flow: picks up role changes and deleted accounts
+        Optional<User> userOpt = userRepository.findById(tokenUser.id());
+        if (userOpt.isEmpty() || userOpt.get().isDeleted()) {
+            return ResponseEntity.status(401).body("User not found");
+        }
+        return ResponseEntity.ok(tokenResponse(userOpt.get()));
+    }
+
     @GetMapping("/user/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         return userRepository.findById(id)
@@ -87,11 +155,11 @@ public class AuthController {
         String currentPassword = request.get("currentPassword");
         String newPassword = request.get("newPassword");
 
-        if (userIdStr == null || currentPassword == null) {
+        Long userId = AuthenticatedUser.resolveUserId(userIdStr != null ? Long.valueOf(userIdStr) : null);
+        if (userId == null || currentPassword == null) {
             return ResponseEntity.badRequest().body("User ID and current password are required");
         }
 
-        Long userId = Long.parseLong(userIdStr);
         Optional<User> userOpt = userRepository.findById(userId);
 
         if (userOpt.isEmpty()) {
@@ -101,14 +169,14 @@ public class AuthController {
         User user = userOpt.get();
 
         // Verify Current Password
-        if (!user.getPassword().equals(currentPassword)) {
+        if (!passwordHasher.matches(currentPassword, user.getPassword())) {
             return ResponseEntity.status(401).body("Incorrect current password");
         }
 
         // Update Fields
         if (username != null && !username.isEmpty()) {
             // Check if username is taken by another user
-            Optional<User> existing = userRepository.findByUsername(username);
+            Optional<User> existing = userRepository.findByUsernameNormalized(User.normalize(username));
             if (existing.isPresent() && !existing.get().getId().equals(userId)) {
                 return ResponseEntity.badRequest().body("Username already taken");
             }
@@ -116,6 +184,10 @@ public class AuthController {
         }
 
         if (email != null && !email.isEmpty()) {
+            if (!User.normalize(email).equals(user.getEmailNormalized())
+                    && userRepository.existsByEmailNormalized(User.normalize(email))) {
+                return ResponseEntity.badRequest().body("Email already registered");
+            }
             user.setEmail(email);
         }
 
@@ -126,10 +198,17 @@ public class AuthController {
         }
 
         if (newPassword != null && !newPassword.isEmpty()) {
-            user.setPassword(newPassword);
+            user.setPassword(passwordHasher.hash(newPassword));
         }
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body("Username or email already taken");
+        } finally {
+            entityCacheService.evictUser(userId);
+        }
+        identityAvailabilityService.register(user);
 
         java.util.Map<String, Object> response = new java.util.HashMap<>();
         response.put("message", "Profile updated successfully");
@@ -139,7 +218,6 @@ public class AuthController {
     }
 
     @DeleteMapping("/delete-account")
-    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> deleteAccount(@RequestBody java.util.Map<String, String> request) {
         String username = request.get("username");
         String password = request.get("password");
@@ -148,42 +226,41 @@ public class AuthController {
             return ResponseEntity.badRequest().body("Username and password are required");
         }
 
-        Optional<User> userOpt = userRepository.findByUsername(username);
+        Optional<User> userOpt = userRepository.findByUsernameNormalized(User.normalize(username));
         if (userOpt.isEmpty()) {
             return ResponseEntity.status(404).body("User not found");
         }
 
         User user = userOpt.get();
 
+        if (user.isDeleted()) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+
         // Verify Password
-        if (!user.getPassword().equals(password)) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             return ResponseEntity.status(401).body("Incorrect password");
         }
 
-        try {
-            // 1. Delete all proposals made by this user
-            java.util.List<com.jobpazar.backend.entity.Proposal> myProposals = proposalRepository
-                    .findAllByFreelancerId(user.getId());
-            proposalRepository.deleteAll(myProposals);
-
-            // 2. Delete all jobs posted by this user (and proposals on those jobs)
-            java.util.List<com.jobpazar.backend.entity.Job> myJobs = jobRepository.findAllByEmployerId(user.getId());
-            for (com.jobpazar.backend.entity.Job job : myJobs) {
-                // Delete proposals on this job primarily
-                java.util.List<com.jobpazar.backend.entity.Proposal> proposalsOnJob = proposalRepository
-                        .findAllByJobId(job.getId());
-                proposalRepository.deleteAll(proposalsOnJob);
-
-                jobRepository.delete(job);
-            }
-
-            // 3. Delete the user
-            userRepository.delete(user);
+        // Flag now, proposals/jobs/notifications/feedback are purged in the background
+        accountDeletionService.markDeleted(user);
 
-            return ResponseEntity.ok("Account deleted successfully");
+        return ResponseEntity.ok("Account deleted successfully");
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body("Error deleting account: " + e.getMessage());
-        }
+    // User fields stay at the top level so existing clients keep reading id/role from the login response
+    private Map<String, Object> tokenResponse(User user) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", user.getId());
+        response.put("username", user.getUsername());
+        response.put("email", user.getEmail());
+        response.put("role", user.getRole());
+        response.put("bio", user.getBio());
+        response.put("requestedRole", user.getRequestedRole());
+        response.put("accessToken", tokenService.issueAccessToken(user.getId(), user.getRole()));
+        response.put("refreshToken", tokenService.issueRefreshToken(user.getId(), user.getRole()));
+        response.put("tokenType", "Bearer");
+        response.put("expiresIn", tokenService.getAccessTtlSeconds());
+        return response;
     }
 }
@@ -4,6 +4,7 @@ import com.jobpazar.backend.entity.Feedback;
 import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.FeedbackRepository;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,18 +24,16 @@ public class FeedbackController {
 
     @PostMapping
     public ResponseEntity<?> createFeedback(@RequestBody Map<String, Object> payload) {
+        Object userIdObj = payload.get("userId");
+        Long userId = AuthenticatedUser.resolveUserId(userIdObj != null ? Long.valueOf(userIdObj.toString()) : null);
+        if (userId == null) {
+            return ResponseEntity.badRequest().body("User ID is required.");
+        }
+
         try {
             String message = (String) payload.get("message");
-            Object userIdObj = payload.get("userId");
-
-            if (userIdObj == null) {
-                return ResponseEntity.badRequest().body("User ID is required.");
-            }
-
-            Long userId = Long.valueOf(userIdObj.toString());
 
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User user = userRepository.getActingUser(userId);
 
             Feedback feedback = new Feedback();
             feedback.setMessage(message);
@@ -1,41 +1,82 @@
 package com.jobpazar.backend.controller;
 
+import com.jobpazar.backend.dto.JobResponse;
 import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import com.jobpazar.backend.service.JobService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/jobs")
 public class JobController {
 
+    private static final int FEED_PAGE_SIZE = 500;
+
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private JsonMapper jsonMapper;
+
     // Create a new job
     @PostMapping
-    public ResponseEntity<?> createJob(@RequestBody Job job, @RequestParam Long employerId) {
+    public ResponseEntity<?> createJob(@RequestBody Job job, @RequestParam(required = false) Long employerId) {
+        Long resolvedEmployerId = AuthenticatedUser.resolveUserId(employerId);
+        if (resolvedEmployerId == null) {
+            return ResponseEntity.badRequest().body("Employer ID is required");
+        }
         try {
-            Job createdJob = jobService.createJob(job, employerId);
-            return ResponseEntity.ok(createdJob);
+            // The employer is only a reference when the token proves it, so it is not serialized in full
+            return ResponseEntity.ok(JobResponse.from(jobService.createJob(job, resolvedEmployerId)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    // List all OPEN jobs
+    // List all OPEN jobs. The feed is the largest response, so it is read and written in keyset
+    // pages instead of building the whole list first. The first page is read before anything is
+    // written, so a database error still becomes an error status. A later failure leaves the
+    // array unclosed (no AUTO_CLOSE_CONTENT), so the client cannot mistake it for a complete feed.
     @GetMapping
-    public ResponseEntity<List<Job>> getAllOpenJobs() {
-        return ResponseEntity.ok(jobService.getAllOpenJobs());
+    public void getAllOpenJobs(HttpServletResponse response) throws IOException {
+        List<JobResponse> page = jobService.getOpenJobPage(0, FEED_PAGE_SIZE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator generator = jsonMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+                .createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            while (true) {
+                for (JobResponse job : page) {
+                    jsonMapper.writeValue(generator, job);
+                }
+                if (page.size() < FEED_PAGE_SIZE) {
+                    break;
+                }
+                page = jobService.getOpenJobPage(page.get(page.size() - 1).id(), FEED_PAGE_SIZE);
+            }
+            generator.writeEndArray();
+        }
     }
 
     // List my jobs (for Employer)
     @GetMapping("/my-jobs")
-    public ResponseEntity<List<Job>> getMyJobs(@RequestParam Long userId) {
-        return ResponseEntity.ok(jobService.getMyJobs(userId));
+    public ResponseEntity<List<JobResponse>> getMyJobs(@RequestParam(required = false) Long userId) {
+        Long resolvedUserId = AuthenticatedUser.resolveUserId(userId);
+        if (resolvedUserId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(jobService.getMyJobs(resolvedUserId).stream().map(JobResponse::from).toList());
     }
 
     @PutMapping("/{id}")
@@ -43,6 +84,8 @@ public class JobController {
         try {
             Job updatedJob = jobService.updateJob(id, jobDetails);
             return ResponseEntity.ok(updatedJob);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -58,6 +101,8 @@ public class JobController {
         try {
             jobService.deleteJob(id);
             return ResponseEntity.ok("Job deleted successfully");
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
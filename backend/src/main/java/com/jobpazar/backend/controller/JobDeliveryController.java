@@ -2,6 +2,7 @@ package com.jobpazar.backend.controller;
 
 import com.jobpazar.backend.entity.*;
 import com.jobpazar.backend.repository.*;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +29,7 @@ public class JobDeliveryController {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new RuntimeException("Proposal not found"));
 
+        AuthenticatedUser.checkOwner(proposal.getFreelancer().getId());
         Job job = proposal.getJob();
 
         if (job.getStatus() != JobStatus.IN_PROGRESS && job.getStatus() != JobStatus.REVIEW) {
@@ -56,12 +58,14 @@ public class JobDeliveryController {
     public ResponseEntity<?> approveWork(@PathVariable Long jobId) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
+        AuthenticatedUser.checkOwner(job.getEmployer().getId());
 
         if (job.getStatus() != JobStatus.REVIEW) {
             return ResponseEntity.badRequest().body("Job is not under review.");
         }
 
         job.setStatus(JobStatus.COMPLETED);
+        job.setCompletedAt(LocalDateTime.now());
         jobRepository.save(job);
 
         // Find the accepted proposal to notify the freelancer
@@ -91,6 +95,7 @@ public class JobDeliveryController {
     public ResponseEntity<?> requestRevision(@PathVariable Long jobId, @RequestBody Map<String, String> payload) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
+        AuthenticatedUser.checkOwner(job.getEmployer().getId());
 
         if (job.getStatus() != JobStatus.REVIEW) {
             return ResponseEntity.badRequest().body("Job is not under review.");
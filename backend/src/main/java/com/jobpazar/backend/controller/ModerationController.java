@@ -0,0 +1,62 @@
+package com.jobpazar.backend.controller;
+
+import com.jobpazar.backend.service.ModerationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/admin/moderation")
+public class ModerationController {
+
+    @Autowired
+    private ModerationService moderationService;
+
+    // Body: { "ids": [..] } or filters { "employerId": 5, "status": "OPEN",
+    // "createdFrom": "2025-01-01T00:00:00", "createdTo": "2025-01-02T00:00:00" }
+    @PostMapping("/jobs/delete")
+    public ResponseEntity<?> deleteJobs(@RequestBody Map<String, Object> payload) {
+        try {
+            ModerationService.JobFilter filter = new ModerationService.JobFilter(
+                    payload.get("employerId") != null ? Long.valueOf(payload.get("employerId").toString()) : null,
+                    (String) payload.get("status"),
+                    payload.get("createdFrom") != null ? LocalDateTime.parse(payload.get("createdFrom").toString())
+                            : null,
+                    payload.get("createdTo") != null ? LocalDateTime.parse(payload.get("createdTo").toString())
+                            : null);
+            return ResponseEntity.ok(moderationService.deleteJobs(ids(payload), filter));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Body: { "ids": [..] } - accounts are flagged now and purged in the background
+    @PostMapping("/users/delete")
+    public ResponseEntity<?> deleteUsers(@RequestBody Map<String, Object> payload) {
+        List<Long> ids = ids(payload);
+        if (ids.isEmpty()) {
+            return ResponseEntity.badRequest().body("ids is required");
+        }
+        return ResponseEntity.ok(moderationService.deleteUsers(ids));
+    }
+
+    @GetMapping("/operations/{operationId}")
+    public ResponseEntity<Map<String, Object>> getOperation(@PathVariable String operationId) {
+        Map<String, Object> operation = moderationService.getOperation(operationId);
+        return operation != null ? ResponseEntity.ok(operation) : ResponseEntity.notFound().build();
+    }
+
+    private List<Long> ids(Map<String, Object> payload) {
+        if (payload.get("ids") instanceof List<?> rawIds) {
+            return rawIds.stream()
+                    .map(id -> Long.valueOf(id.toString()))
+                    .collect(Collectors.toList());
+        }
+        return List.of();
+    }
+}
@@ -1,7 +1,8 @@
 package com.jobpazar.backend.controller;
 
-import com.jobpazar.backend.entity.Notification;
+import com.jobpazar.backend.dto.NotificationResponse;
 import com.jobpazar.backend.repository.NotificationRepository;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,24 +17,14 @@ public class NotificationController {
     private NotificationRepository notificationRepository;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<java.util.Map<String, Object>>> getUserNotifications(@PathVariable Long userId) {
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
-        List<java.util.Map<String, Object>> result = notifications.stream().map(n -> {
-            java.util.Map<String, Object> map = new java.util.HashMap<>();
-            map.put("id", n.getId());
-            map.put("message", n.getMessage());
-            map.put("isRead", n.isRead());
-            map.put("createdAt", n.getCreatedAt());
-            return map;
-        }).collect(java.util.stream.Collectors.toList());
-
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<NotificationResponse>> getUserNotifications(@PathVariable Long userId) {
+        return ResponseEntity.ok(notificationRepository.findResponsesByUserId(AuthenticatedUser.resolveUserId(userId)));
     }
 
     @PutMapping("/{id}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long id) {
         return notificationRepository.findById(id).map(notification -> {
+            AuthenticatedUser.checkOwner(notification.getUser().getId());
             notification.setRead(true);
             notificationRepository.save(notification);
             return ResponseEntity.ok().build();
@@ -1,12 +1,15 @@
 package com.jobpazar.backend.controller;
 
 import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import com.jobpazar.backend.service.ProposalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/proposals")
@@ -19,10 +22,15 @@ public class ProposalController {
     @PostMapping("/{jobId}")
     public ResponseEntity<?> submitProposal(@PathVariable Long jobId,
             @RequestBody Proposal proposal,
-            @RequestParam Long freelancerId) {
+            @RequestParam(required = false) Long freelancerId) {
+        Long resolvedFreelancerId = AuthenticatedUser.resolveUserId(freelancerId);
+        if (resolvedFreelancerId == null) {
+            return ResponseEntity.badRequest().body("Freelancer ID is required");
+        }
         try {
-            Proposal savedProposal = proposalService.submitProposal(proposal, jobId, freelancerId);
-            return ResponseEntity.ok(savedProposal);
+            // The freelancer is only a reference when the token proves it, so the entity is not serialized
+            Proposal savedProposal = proposalService.submitProposal(proposal, jobId, resolvedFreelancerId);
+            return ResponseEntity.ok(Map.of("id", savedProposal.getId(), "status", savedProposal.getStatus()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -36,13 +44,22 @@ public class ProposalController {
 
     // List my proposals
     @GetMapping("/my-proposals")
-    public ResponseEntity<List<Proposal>> getMyProposals(@RequestParam Long freelancerId) {
-        return ResponseEntity.ok(proposalService.getProposalsForFreelancer(freelancerId));
+    public ResponseEntity<List<Proposal>> getMyProposals(@RequestParam(required = false) Long freelancerId) {
+        Long resolvedFreelancerId = AuthenticatedUser.resolveUserId(freelancerId);
+        if (resolvedFreelancerId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(proposalService.getProposalsForFreelancer(resolvedFreelancerId));
     }
 
     @GetMapping("/my-proposal")
-    public ResponseEntity<Proposal> getMyProposalForJob(@RequestParam Long jobId, @RequestParam Long freelancerId) {
-        return proposalService.getProposalByJobAndFreelancer(jobId, freelancerId)
+    public ResponseEntity<Proposal> getMyProposalForJob(@RequestParam Long jobId,
+            @RequestParam(required = false) Long freelancerId) {
+        Long resolvedFreelancerId = AuthenticatedUser.resolveUserId(freelancerId);
+        if (resolvedFreelancerId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return proposalService.getProposalByJobAndFreelancer(jobId, resolvedFreelancerId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.noContent().build());
     }
@@ -53,6 +70,8 @@ public class ProposalController {
         try {
             proposalService.acceptProposal(proposalId);
             return ResponseEntity.ok("Proposal accepted successfully. Job is now IN_PROGRESS.");
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -63,6 +82,8 @@ public class ProposalController {
         try {
             proposalService.rejectProposal(proposalId);
             return ResponseEntity.ok("Proposal rejected.");
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -2,6 +2,7 @@ package com.jobpazar.backend.controller;
 
 import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +16,7 @@ public class UserController {
 
     @PostMapping("/{userId}/request-role")
     public ResponseEntity<?> requestRole(@PathVariable Long userId, @RequestParam String role) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(AuthenticatedUser.resolveUserId(userId))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         user.setRequestedRole(role);
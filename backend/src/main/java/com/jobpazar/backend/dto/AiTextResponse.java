@@ -0,0 +1,16 @@
+package com.jobpazar.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Body of the /api/ai text endpoints: {"response": "..."} on success, {"error": "..."} on bad input
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AiTextResponse(String response, String error) {
+
+    public static AiTextResponse of(String response) {
+        return new AiTextResponse(response, null);
+    }
+
+    public static AiTextResponse error(String error) {
+        return new AiTextResponse(null, error);
+    }
+}
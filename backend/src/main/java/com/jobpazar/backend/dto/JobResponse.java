@@ -0,0 +1,26 @@
+package com.jobpazar.backend.dto;
+
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.User;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDateTime;
+
+// Job list row with a slim employer (no bio, no account state)
+public record JobResponse(Long id, String title, String description, String budget, String category,
+        Integer duration, JobStatus status, LocalDateTime createdAt, LocalDateTime startedAt,
+        LocalDateTime completedAt, UserSummary employer) {
+
+    public static JobResponse from(Job job) {
+        User employer = job.getEmployer();
+        return new JobResponse(job.getId(), job.getTitle(), job.getDescription(), job.getBudget(),
+                job.getCategory(), job.getDuration(), job.getStatus(), job.getCreatedAt(), job.getStartedAt(),
+                job.getCompletedAt(),
+                employer == null ? null
+                        // A just-created job holds only a reference to its (token-proven) employer
+                        : !Hibernate.isInitialized(employer) ? new UserSummary(employer.getId(), null, null, null, null)
+                        : new UserSummary(employer.getId(), employer.getUsername(), employer.getEmail(),
+                                employer.getRole(), employer.getRequestedRole()));
+    }
+}
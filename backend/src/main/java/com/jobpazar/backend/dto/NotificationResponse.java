@@ -0,0 +1,10 @@
+package com.jobpazar.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// Notification list row, read straight from the query (no entity, no recipient)
+public record NotificationResponse(Long id, String message, @JsonProperty("isRead") boolean isRead,
+        LocalDateTime createdAt) {
+}
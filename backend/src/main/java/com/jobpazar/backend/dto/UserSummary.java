@@ -0,0 +1,5 @@
+package com.jobpazar.backend.dto;
+
+// Slim user row for admin lists (no password, no bio)
+public record UserSummary(Long id, String username, String email, String role, String requestedRole) {
+}
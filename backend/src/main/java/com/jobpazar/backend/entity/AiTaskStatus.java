@@ -0,0 +1,8 @@
+package com.jobpazar.backend.entity;
+
+public enum AiTaskStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.jobpazar.backend.entity;
+
+public enum AiTaskType {
+    JOB_DESCRIPTION, // Regenerate a job's description and write it back to the job
+    FEEDBACK_TRIAGE // Refine an unreplied feedback message, result is kept on the task
+}
@@ -0,0 +1,84 @@
+package com.jobpazar.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per day, written by AnalyticsRollupService
+@Entity
+@Table(name = "daily_market_stats")
+public class DailyMarketStats {
+
+    @Id
+    private LocalDate statDate;
+
+    private long jobsCreated;
+
+    private long proposalsSubmitted;
+
+    private long jobsStarted;
+
+    private long jobsCompleted;
+
+    private Long medianTimeToStartMinutes; // null when no job started that day
+
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public long getJobsCreated() {
+        return jobsCreated;
+    }
+
+    public void setJobsCreated(long jobsCreated) {
+        this.jobsCreated = jobsCreated;
+    }
+
+    public long getProposalsSubmitted() {
+        return proposalsSubmitted;
+    }
+
+    public void setProposalsSubmitted(long proposalsSubmitted) {
+        this.proposalsSubmitted = proposalsSubmitted;
+    }
+
+    public long getJobsStarted() {
+        return jobsStarted;
+    }
+
+    public void setJobsStarted(long jobsStarted) {
+        this.jobsStarted = jobsStarted;
+    }
+
+    public long getJobsCompleted() {
+        return jobsCompleted;
+    }
+
+    public void setJobsCompleted(long jobsCompleted) {
+        this.jobsCompleted = jobsCompleted;
+    }
+
+    public Long getMedianTimeToStartMinutes() {
+        return medianTimeToStartMinutes;
+    }
+
+    public void setMedianTimeToStartMinutes(Long medianTimeToStartMinutes) {
+        this.medianTimeToStartMinutes = medianTimeToStartMinutes;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
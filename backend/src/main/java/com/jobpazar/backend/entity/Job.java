@@ -1,10 +1,22 @@
 package com.jobpazar.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_created_at", columnList = "createdAt"),
+        @Index(name = "idx_jobs_started_at", columnList = "startedAt"),
+        @Index(name = "idx_jobs_completed_at", columnList = "completedAt"),
+        @Index(name = "idx_jobs_status_id", columnList = "status, id"),
+        @Index(name = "idx_jobs_employer", columnList = "employer_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "job")
 public class Job {
 
     @Id
@@ -23,6 +35,8 @@ public class Job {
     private Integer duration; // In days
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain VARCHAR(50) (see db/migration), not a MySQL ENUM
+    @Column(length = 50)
     private JobStatus status = JobStatus.OPEN;
 
     @ManyToOne
@@ -114,4 +128,14 @@ public class Job {
     public void setStartedAt(LocalDateTime startedAt) {
         this.startedAt = startedAt;
     }
+
+    private LocalDateTime completedAt;
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
 }
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Covers both notification lists of a user (all / unread, newest first)
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, isRead, createdAt")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
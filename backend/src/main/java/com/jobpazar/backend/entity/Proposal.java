@@ -1,10 +1,16 @@
 package com.jobpazar.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "proposals")
+@Table(name = "proposals", indexes = {
+        @Index(name = "idx_proposals_created_at", columnList = "createdAt"),
+        @Index(name = "idx_proposals_job", columnList = "job_id"),
+        @Index(name = "idx_proposals_freelancer", columnList = "freelancer_id")
+})
 public class Proposal {
 
     @Id
@@ -24,6 +30,8 @@ public class Proposal {
     private Integer daysToDeliver;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 50)
     private ProposalStatus status = ProposalStatus.PENDING;
 
     @ManyToOne
@@ -1,9 +1,22 @@
 package com.jobpazar.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_email", columnList = "email"),
+        @Index(name = "idx_users_role", columnList = "role"),
+        @Index(name = "idx_users_requested_role", columnList = "requestedRole"),
+        @Index(name = "idx_users_role_requested_at", columnList = "roleRequestedAt"),
+        @Index(name = "uk_users_username_normalized", columnList = "usernameNormalized", unique = true),
+        @Index(name = "uk_users_email_normalized", columnList = "emailNormalized", unique = true)
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
 
     @Id
@@ -13,8 +26,9 @@ public class User {
     @Column(unique = true, nullable = false)
     private String username;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // Accepted on register/login, never returned
     @Column(nullable = false)
-    private String password; // In a real app, this should be hashed
+    private String password; // BCrypt hash (see PasswordHasher)
 
     @Column(nullable = false)
     private String email;
@@ -26,16 +40,74 @@ public class User {
 
     private String requestedRole; // The role the user wants to upgrade to
 
+    private java.time.LocalDateTime roleRequestedAt; // When requestedRole was set, orders the admin queue
+
+    // Trimmed + lower-cased copies for case-insensitive, unique lookups (set in normalizeIdentity)
+    @JsonIgnore
+    private String usernameNormalized;
+
+    @JsonIgnore
+    private String emailNormalized;
+
+    private boolean deleted = false; // Set on account deletion, row is purged in the background
+
+    private java.time.LocalDateTime deletedAt;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeIdentity() {
+        usernameNormalized = normalize(username);
+        emailNormalized = normalize(email);
+    }
+
+    public static String normalize(String value) {
+        // ROOT locale: Turkish default locale would turn "I" into a dotless "ı"
+        return value != null ? value.trim().toLowerCase(java.util.Locale.ROOT) : null;
+    }
+
     // Getters and Setters
 
+    public String getUsernameNormalized() {
+        return usernameNormalized;
+    }
+
+    public String getEmailNormalized() {
+        return emailNormalized;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public java.time.LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(java.time.LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     public String getRequestedRole() {
         return requestedRole;
     }
 
     public void setRequestedRole(String requestedRole) {
+        if (requestedRole == null) {
+            roleRequestedAt = null;
+        } else if (!requestedRole.equals(this.requestedRole)) {
+            roleRequestedAt = java.time.LocalDateTime.now();
+        }
         this.requestedRole = requestedRole;
     }
 
+    public java.time.LocalDateTime getRoleRequestedAt() {
+        return roleRequestedAt;
+    }
+
     public String getBio() {
         return bio;
     }
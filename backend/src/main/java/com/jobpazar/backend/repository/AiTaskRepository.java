@@ -0,0 +1,39 @@
+package com.jobpazar.backend.repository;
+
+import com.jobpazar.backend.entity.AiTask;
+import com.jobpazar.backend.entity.AiTaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AiTaskRepository extends JpaRepository<AiTask, Long> {
+    @Query("select t.id from AiTask t where t.status = :status order by t.id")
+    List<Long> findIdsByStatus(@Param("status") AiTaskStatus status, Pageable pageable);
+
+    List<AiTask> findByClaimToken(String claimToken);
+
+    // Only rows still PENDING are taken, so when two nodes pick the same ids each row goes to one of them
+    @Modifying
+    @Query("update AiTask t set t.status = :running, t.claimToken = :token, t.claimedAt = :now "
+            + "where t.id in :ids and t.status = :pending")
+    int claim(@Param("ids") List<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now,
+            @Param("pending") AiTaskStatus pending, @Param("running") AiTaskStatus running);
+
+    // RUNNING rows whose claim expired (or that were claimed before claims were stamped)
+    @Modifying
+    @Query("update AiTask t set t.status = :pending where t.status = :running "
+            + "and (t.claimedAt is null or t.claimedAt < :expiredBefore)")
+    int releaseExpired(@Param("expiredBefore") LocalDateTime expiredBefore,
+            @Param("running") AiTaskStatus running, @Param("pending") AiTaskStatus pending);
+
+    Page<AiTask> findByBatchId(String batchId, Pageable pageable);
+
+    @Query("select t.status, count(t) from AiTask t where t.batchId = :batchId group by t.status")
+    List<Object[]> countByStatusForBatch(@Param("batchId") String batchId);
+}
@@ -0,0 +1,14 @@
+package com.jobpazar.backend.repository;
+
+import com.jobpazar.backend.entity.DailyMarketStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyMarketStatsRepository extends JpaRepository<DailyMarketStats, LocalDate> {
+    List<DailyMarketStats> findByStatDateBetweenOrderByStatDateAsc(LocalDate from, LocalDate to);
+
+    Optional<DailyMarketStats> findTopByOrderByStatDateDesc();
+}
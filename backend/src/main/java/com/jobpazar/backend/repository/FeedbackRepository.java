@@ -1,9 +1,19 @@
 package com.jobpazar.backend.repository;
 
 import com.jobpazar.backend.entity.Feedback;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Feedback> findAll();
+
+    @Query("select f.id from Feedback f where f.replied = false")
+    List<Long> findUnrepliedIds();
 }
@@ -2,11 +2,52 @@ package com.jobpazar.backend.repository;
 
 import com.jobpazar.backend.entity.Job;
 import com.jobpazar.backend.entity.JobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface JobRepository extends JpaRepository<Job, Long> {
-    List<Job> findAllByStatus(JobStatus status);
+    // One keyset page of the job feed (pageable carries only the page size), read in idx_jobs_status_id
+    // order. Employer is fetched in the same query; otherwise every distinct employer in the feed costs a select.
+    @EntityGraph(attributePaths = "employer")
+    @Query("select j from Job j where j.status = :status and j.id > :afterId order by j.id")
+    List<Job> findPageByStatusAfter(@Param("status") JobStatus status, @Param("afterId") Long afterId,
+            Pageable pageable);
 
+    @Override
+    @EntityGraph(attributePaths = "employer")
+    List<Job> findAll();
+
+    @EntityGraph(attributePaths = "employer")
     List<Job> findAllByEmployerId(Long employerId);
+
+    @Query("select j.id from Job j where j.status = :status")
+    List<Long> findIdsByStatus(@Param("status") JobStatus status);
+
+    @Query("select j.status, count(j) from Job j group by j.status")
+    List<Object[]> countByStatus();
+
+    @Query("select j.category, count(j) from Job j group by j.category")
+    List<Object[]> countByCategory();
+
+    // [count, total seconds] for jobs that have started
+    @Query(value = "select count(*), coalesce(sum(timestampdiff(SECOND, created_at, started_at)), 0) "
+            + "from jobs where started_at is not null and created_at is not null", nativeQuery = true)
+    List<Object[]> sumTimeToStart();
+
+    // Daily rollup queries: half-open [from, to) ranges so they can use the timestamp indexes
+
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to);
+
+    long countByCompletedAtGreaterThanEqualAndCompletedAtLessThan(LocalDateTime from, LocalDateTime to);
+
+    @Query("select j.createdAt, j.startedAt from Job j where j.startedAt >= :from and j.startedAt < :to")
+    List<Object[]> findStartTimesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select min(j.createdAt) from Job j")
+    LocalDateTime findFirstCreatedAt();
 }
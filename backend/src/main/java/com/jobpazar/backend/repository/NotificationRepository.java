@@ -1,11 +1,19 @@
 package com.jobpazar.backend.repository;
 
+import com.jobpazar.backend.dto.NotificationResponse;
 import com.jobpazar.backend.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // Response rows straight from the (user_id, is_read, created_at) index, no entities
+    @Query("select new com.jobpazar.backend.dto.NotificationResponse(n.id, n.message, n.isRead, n.createdAt) "
+            + "from Notification n where n.user.id = :userId order by n.createdAt desc")
+    List<NotificationResponse> findResponsesByUserId(@Param("userId") Long userId);
+
     List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
 }
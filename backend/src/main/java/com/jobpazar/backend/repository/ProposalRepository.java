@@ -1,13 +1,24 @@
 package com.jobpazar.backend.repository;
 
 import com.jobpazar.backend.entity.Proposal;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ProposalRepository extends JpaRepository<Proposal, Long> {
+    // Job, its employer and the freelancer come in the same query instead of one select per row
+    @EntityGraph(attributePaths = { "job", "job.employer", "freelancer" })
     List<Proposal> findAllByJobId(Long jobId);
 
+    @EntityGraph(attributePaths = { "job", "job.employer", "freelancer" })
     List<Proposal> findAllByFreelancerId(Long freelancerId);
 
     List<Proposal> findByJobIdAndFreelancerId(Long jobId, Long freelancerId);
+
+    @Query("select p.status, count(p) from Proposal p group by p.status")
+    List<Object[]> countByStatus();
+
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to);
 }
@@ -1,9 +1,16 @@
 package com.jobpazar.backend.repository;
 
+import com.jobpazar.backend.dto.UserSummary;
 import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.security.AuthenticatedUser;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +18,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
+
+    // The acting user, e.g. a job's employer. An id proven by the request's token only needs
+    // the FK reference; ids from request parameters (clients without a token) are looked up.
+    default User getActingUser(Long userId) {
+        if (AuthenticatedUser.isCaller(userId)) {
+            return getReferenceById(userId);
+        }
+        return findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Arguments must go through User.normalize
+    Optional<User> findByUsernameNormalized(String usernameNormalized);
+
+    boolean existsByUsernameNormalized(String usernameNormalized);
+
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    // Keyset page of identities for rebuilding the availability filter
+    @Query("select u.id, u.usernameNormalized, u.emailNormalized from User u where u.id > :afterId order by u.id")
+    List<Object[]> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select u.id from User u where u.deleted = true")
+    List<Long> findDeletedIds();
+
+    @Query("select u.role, count(u) from User u group by u.role")
+    List<Object[]> countByRole();
+
+    // Prefix must be normalized and end with '%' (e.g. "ali%") so the unique indexes can be used
+    @Query(value = "select new com.jobpazar.backend.dto.UserSummary(u.id, u.username, u.email, u.role, u.requestedRole) "
+            + "from User u "
+            + "where (:role is null or u.role = :role) "
+            + "and (:pendingOnly = false or u.requestedRole is not null) "
+            + "and (:prefix is null or u.usernameNormalized like :prefix or u.emailNormalized like :prefix)",
+            countQuery = "select count(u) from User u "
+                    + "where (:role is null or u.role = :role) "
+                    + "and (:pendingOnly = false or u.requestedRole is not null) "
+                    + "and (:prefix is null or u.usernameNormalized like :prefix or u.emailNormalized like :prefix)")
+    Page<UserSummary> searchSummaries(@Param("role") String role, @Param("pendingOnly") boolean pendingOnly,
+            @Param("prefix") String prefix, Pageable pageable);
 }
@@ -0,0 +1,80 @@
+package com.jobpazar.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifies the "Authorization: Bearer" access token and exposes the caller as
+ * an {@link AuthenticatedUser} request attribute. No database access.
+ * <p>
+ * A request with an invalid or expired token gets 401 so the app can refresh.
+ * Requests without a token pass through while auth.token.required is false,
+ * which keeps older app versions (that only send ids) working. With it set to
+ * true, /api requests need a token and /api/admin needs the ADMIN role.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100) // Before filters that need the caller (RateLimitFilter, IdempotencyFilter)
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${auth.token.required:false}")
+    private boolean tokenRequired;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AuthenticatedUser user = null;
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER)) {
+            user = tokenService.verify(header.substring(BEARER.length()).trim(), TokenService.ACCESS);
+            if (user == null) {
+                reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+                return;
+            }
+            request.setAttribute(AuthenticatedUser.ATTRIBUTE, user);
+        }
+
+        if (tokenRequired) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            if (user == null && path.startsWith("/api/") && !isPublic(request.getMethod(), path)) {
+                reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+                return;
+            }
+            if (path.startsWith("/api/admin/") && (user == null || !user.isAdmin())) {
+                reject(response, HttpServletResponse.SC_FORBIDDEN, "Admin role required");
+                return;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    // Login/register/refresh/availability and browsing jobs as a guest
+    private static boolean isPublic(String method, String path) {
+        return path.equals("/api/auth/login")
+                || path.equals("/api/auth/register")
+                || path.equals("/api/auth/refresh")
+                || path.equals("/api/auth/availability")
+                || ("GET".equals(method) && path.startsWith("/api/jobs"));
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+}
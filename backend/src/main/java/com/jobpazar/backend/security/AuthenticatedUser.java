@@ -0,0 +1,61 @@
+package com.jobpazar.backend.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Identity taken from a verified access token. {@link AuthTokenFilter} puts it
+ * on the request, so controllers get the caller's id and role without a query.
+ */
+public record AuthenticatedUser(Long id, String role) {
+
+    public static final String ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    // Caller of the current request, or null when no token was sent
+    public static AuthenticatedUser current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (AuthenticatedUser) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    // True when the request carries a token for userId. The user then exists, so a
+    // reference (getReferenceById) is enough and no select is needed.
+    public static boolean isCaller(Long userId) {
+        AuthenticatedUser user = current();
+        return user != null && user.id().equals(userId);
+    }
+
+    // For changes to something owned by ownerId (a job's employer, a proposal's freelancer).
+    // Another user's token is refused unless it is an admin's; requests without a token
+    // pass, as in resolveUserId.
+    public static void checkOwner(Long ownerId) {
+        AuthenticatedUser user = current();
+        if (user != null && !user.isAdmin() && !user.id().equals(ownerId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Token does not belong to the owner");
+        }
+    }
+
+    // The token identity wins over a userId/employerId/freelancerId parameter.
+    // The parameter is only trusted for clients that do not send a token yet.
+    public static Long resolveUserId(Long requestedId) {
+        AuthenticatedUser user = current();
+        if (user == null) {
+            return requestedId;
+        }
+        if (requestedId != null && !requestedId.equals(user.id())) {
+            if (user.isAdmin()) {
+                return requestedId;
+            }
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Token does not belong to this user");
+        }
+        return user.id();
+    }
+}
@@ -0,0 +1,122 @@
+package com.jobpazar.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed tokens.
+ * <p>
+ * Token format: base64url("userId|role|type|expiresAtEpochSeconds") + "." + base64url(signature).
+ * Verification is a single HMAC over a few bytes, so the filter can check every
+ * request without touching the database. Access tokens are short-lived; the
+ * refresh token is exchanged at /api/auth/refresh, which is the only place the
+ * user row is read again (to pick up role changes and deleted accounts).
+ */
+@Component
+public class TokenService {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+
+    // Mac is not thread-safe and getInstance() is relatively costly, so one per thread
+    private final ThreadLocal<Mac> macs;
+
+    public TokenService(@Value("${auth.token.secret:}") String secret,
+            @Value("${auth.token.access-ttl-seconds:900}") long accessTtlSeconds,
+            @Value("${auth.token.refresh-ttl-seconds:1209600}") long refreshTtlSeconds) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            // Tokens will not survive a restart and are not shared between instances
+            System.err.println("auth.token.secret is not set, using a random key for this run");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issueAccessToken(Long userId, String role) {
+        return issue(userId, role, ACCESS, accessTtlSeconds);
+    }
+
+    public String issueRefreshToken(Long userId, String role) {
+        return issue(userId, role, REFRESH, refreshTtlSeconds);
+    }
+
+    public long getAccessTtlSeconds() {
+        return accessTtlSeconds;
+    }
+
+    // Returns null for a malformed, tampered, expired or wrong-type token
+    public AuthenticatedUser verify(String token, String expectedType) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 4 || !parts[2].equals(expectedType)) {
+                return null;
+            }
+            if (Instant.now().getEpochSecond() >= Long.parseLong(parts[3])) {
+                return null;
+            }
+            return new AuthenticatedUser(Long.valueOf(parts[0]), parts[1].isEmpty() ? null : parts[1]);
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or number
+            return null;
+        }
+    }
+
+    private String issue(Long userId, String role, String type, long ttlSeconds) {
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        String payload = userId + "|" + (role != null ? role : "") + "|" + type + "|" + expiresAt;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+}
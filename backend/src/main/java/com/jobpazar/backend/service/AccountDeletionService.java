@@ -0,0 +1,98 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Account deletion in two steps.
+ * <p>
+ * The request only flags the user as deleted (one row update), so the caller
+ * gets an answer right away and the account can no longer log in. A background
+ * sweeper then purges the user's data with set-based DELETE ... LIMIT statements,
+ * each committed on its own, so no transaction holds locks on the hot tables for
+ * long. Flagged users survive restarts and are picked up again by the sweeper.
+ */
+@Service
+public class AccountDeletionService {
+
+    // Children first so foreign keys are never violated
+    private static final String[] PURGE_STATEMENTS = {
+            "DELETE FROM proposals WHERE freelancer_id = ? LIMIT ?",
+            "DELETE FROM proposals WHERE job_id IN (SELECT id FROM jobs WHERE employer_id = ?) LIMIT ?",
+            "DELETE FROM notifications WHERE user_id = ? LIMIT ?",
+            "DELETE FROM feedbacks WHERE user_id = ? LIMIT ?",
+            "DELETE FROM jobs WHERE employer_id = ? LIMIT ?"
+    };
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${account.purge.chunk-size:500}")
+    private int chunkSize;
+
+    public void markDeleted(User user) {
+        user.setDeleted(true);
+        user.setDeletedAt(LocalDateTime.now());
+        userRepository.save(user);
+    }
+
+    @Scheduled(fixedDelayString = "${account.purge.interval-ms:10000}")
+    public void purgeDeletedAccounts() {
+        List<Long> userIds = userRepository.findDeletedIds();
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        for (Long userId : userIds) {
+            try {
+                purge(userId);
+            } catch (Exception e) {
+                // Left flagged, the next run retries
+                System.err.println("Account purge failed for user " + userId + ": " + e.getMessage());
+            }
+        }
+
+        // Bulk statements bypass the Hibernate listeners that keep the stats current
+        adminStatsService.reconcile();
+    }
+
+    public void purge(Long userId) {
+        long rows = 0;
+        for (String sql : PURGE_STATEMENTS) {
+            rows += deleteInChunks(sql, userId);
+        }
+        rows += jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+
+        // Plain JDBC, so the cached rows have to go explicitly
+        entityCacheService.evictUser(userId);
+        entityCacheService.evictAllJobs();
+        System.out.println("Account purged: user " + userId + " (" + rows + " rows)");
+    }
+
+    private long deleteInChunks(String sql, Long userId) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, userId, chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,142 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Feeds committed User/Job/Proposal changes into {@link AdminStatsService}.
+ * Hibernate hands us the old column values on update, so a status change
+ * moves one count from the old bucket to the new one without a query.
+ */
+@Component
+public class AdminStatsListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AdminStatsService statsService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == User.class || type == Job.class || type == Proposal.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onCreatedOrDeleted(event.getEntity(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onCreatedOrDeleted(event.getEntity(), -1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // No loaded state to diff against; the periodic recount will catch up
+            return;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] newState = event.getState();
+        Object entity = event.getEntity();
+
+        if (entity instanceof User) {
+            Object oldRole = value(names, oldState, "role");
+            Object newRole = value(names, newState, "role");
+            if (!Objects.equals(oldRole, newRole)) {
+                statsService.userRoleChanged(oldRole, newRole, 0);
+            }
+        } else if (entity instanceof Job) {
+            Object oldStatus = value(names, oldState, "status");
+            Object newStatus = value(names, newState, "status");
+            Object oldCategory = value(names, oldState, "category");
+            Object newCategory = value(names, newState, "category");
+            if (!Objects.equals(oldStatus, newStatus) || !Objects.equals(oldCategory, newCategory)) {
+                statsService.jobChanged(oldStatus, newStatus, oldCategory, newCategory, 0);
+            }
+
+            Object oldStartedAt = value(names, oldState, "startedAt");
+            Object newStartedAt = value(names, newState, "startedAt");
+            if (!Objects.equals(oldStartedAt, newStartedAt)) {
+                LocalDateTime oldCreatedAt = (LocalDateTime) value(names, oldState, "createdAt");
+                LocalDateTime newCreatedAt = (LocalDateTime) value(names, newState, "createdAt");
+                statsService.jobStarted(oldCreatedAt, (LocalDateTime) oldStartedAt, -1);
+                statsService.jobStarted(newCreatedAt, (LocalDateTime) newStartedAt, 1);
+            }
+        } else if (entity instanceof Proposal) {
+            Object oldStatus = value(names, oldState, "status");
+            Object newStatus = value(names, newState, "status");
+            if (!Objects.equals(oldStatus, newStatus)) {
+                statsService.proposalStatusChanged(oldStatus, newStatus, 0);
+            }
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was counted before commit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was counted before commit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was counted before commit
+    }
+
+    private void onCreatedOrDeleted(Object entity, int delta) {
+        if (entity instanceof User user) {
+            statsService.userRoleChanged(null, user.getRole(), delta);
+        } else if (entity instanceof Job job) {
+            statsService.jobChanged(null, job.getStatus(), null, job.getCategory(), delta);
+            statsService.jobStarted(job.getCreatedAt(), job.getStartedAt(), delta);
+        } else if (entity instanceof Proposal proposal) {
+            statsService.proposalStatusChanged(null, proposal.getStatus(), delta);
+        }
+    }
+
+    private static Object value(String[] names, Object[] state, String property) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+}
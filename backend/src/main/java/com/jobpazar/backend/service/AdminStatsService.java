@@ -0,0 +1,224 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.config.StartupTasks;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.ProposalStatus;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.ProposalRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marketplace counters for the admin dashboard.
+ * <p>
+ * Loaded once with grouped COUNT queries, then kept up to date by
+ * {@link AdminStatsListener} on every committed insert/update/delete of users,
+ * jobs and proposals. Readers get a cached immutable snapshot that is only
+ * rebuilt after something changed. A periodic full recount corrects any drift
+ * from bulk statements that bypass Hibernate events.
+ */
+@Service
+public class AdminStatsService {
+
+    static final String NONE = "NONE";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    private volatile Counters counters = new Counters();
+
+    // Bumped on every change; the cached snapshot is reused while it matches
+    private final AtomicLong version = new AtomicLong();
+    private volatile CachedSnapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        startupTasks.runNonCritical("admin-stats", this::reconcile);
+    }
+
+    @Scheduled(initialDelayString = "${admin.stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${admin.stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Counters fresh = new Counters();
+        for (Object[] row : userRepository.countByRole()) {
+            fresh.usersByRole.put(key(row[0]), new AtomicLong((Long) row[1]));
+        }
+        for (Object[] row : jobRepository.countByStatus()) {
+            fresh.jobsByStatus.put(key(row[0]), new AtomicLong((Long) row[1]));
+        }
+        for (Object[] row : jobRepository.countByCategory()) {
+            fresh.jobsByCategory.put(key(row[0]), new AtomicLong((Long) row[1]));
+        }
+        for (Object[] row : proposalRepository.countByStatus()) {
+            fresh.proposalsByStatus.put(key(row[0]), new AtomicLong((Long) row[1]));
+        }
+        List<Object[]> timeToStart = jobRepository.sumTimeToStart();
+        if (!timeToStart.isEmpty()) {
+            Object[] row = timeToStart.get(0);
+            fresh.startedJobs.set(((Number) row[0]).longValue());
+            fresh.timeToStartSeconds.set(((Number) row[1]).longValue());
+        }
+
+        counters = fresh;
+        version.incrementAndGet();
+    }
+
+    public Map<String, Object> getSnapshot() {
+        long currentVersion = version.get();
+        CachedSnapshot cached = snapshot;
+        if (cached == null || cached.version != currentVersion) {
+            cached = new CachedSnapshot(currentVersion, buildSnapshot(counters));
+            snapshot = cached;
+        }
+        return cached.data;
+    }
+
+    // --- Incremental updates, called after commit by AdminStatsListener.
+    // delta is +1 for an insert, -1 for a delete and 0 for an update (old -> new).
+
+    void userRoleChanged(Object oldRole, Object newRole, int delta) {
+        Counters c = counters;
+        if (delta != 0) {
+            adjust(c.usersByRole, newRole, delta);
+        } else {
+            adjust(c.usersByRole, oldRole, -1);
+            adjust(c.usersByRole, newRole, 1);
+        }
+        version.incrementAndGet();
+    }
+
+    void jobChanged(Object oldStatus, Object newStatus, Object oldCategory, Object newCategory, int delta) {
+        Counters c = counters;
+        if (delta != 0) {
+            adjust(c.jobsByStatus, newStatus, delta);
+            adjust(c.jobsByCategory, newCategory, delta);
+        } else {
+            adjust(c.jobsByStatus, oldStatus, -1);
+            adjust(c.jobsByStatus, newStatus, 1);
+            adjust(c.jobsByCategory, oldCategory, -1);
+            adjust(c.jobsByCategory, newCategory, 1);
+        }
+        version.incrementAndGet();
+    }
+
+    void jobStarted(LocalDateTime createdAt, LocalDateTime startedAt, int delta) {
+        if (createdAt == null || startedAt == null) {
+            return;
+        }
+        Counters c = counters;
+        c.startedJobs.addAndGet(delta);
+        c.timeToStartSeconds.addAndGet(delta * Duration.between(createdAt, startedAt).getSeconds());
+        version.incrementAndGet();
+    }
+
+    void proposalStatusChanged(Object oldStatus, Object newStatus, int delta) {
+        Counters c = counters;
+        if (delta != 0) {
+            adjust(c.proposalsByStatus, newStatus, delta);
+        } else {
+            adjust(c.proposalsByStatus, oldStatus, -1);
+            adjust(c.proposalsByStatus, newStatus, 1);
+        }
+        version.incrementAndGet();
+    }
+
+    private Map<String, Object> buildSnapshot(Counters c) {
+        Map<String, Long> usersByRole = copy(c.usersByRole);
+        Map<String, Long> jobsByStatus = copy(c.jobsByStatus);
+        Map<String, Long> jobsByCategory = copy(c.jobsByCategory);
+        Map<String, Long> proposalsByStatus = copy(c.proposalsByStatus);
+
+        long totalUsers = sum(usersByRole);
+        long totalJobs = sum(jobsByStatus);
+        long totalProposals = sum(proposalsByStatus);
+        long accepted = proposalsByStatus.getOrDefault(ProposalStatus.ACCEPTED.name(), 0L);
+        long started = c.startedJobs.get();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalUsers", totalUsers);
+        result.put("totalJobs", totalJobs);
+        result.put("totalProposals", totalProposals);
+        result.put("openJobs", jobsByStatus.getOrDefault(JobStatus.OPEN.name(), 0L));
+        result.put("usersByRole", usersByRole);
+        result.put("jobsByStatus", jobsByStatus);
+        result.put("jobsByCategory", jobsByCategory);
+        result.put("proposalsByStatus", proposalsByStatus);
+        result.put("acceptanceRate", totalProposals == 0 ? 0.0 : (double) accepted / totalProposals);
+        result.put("avgTimeToStartHours",
+                started == 0 ? 0.0 : c.timeToStartSeconds.get() / 3600.0 / started);
+        result.put("generatedAt", LocalDateTime.now().toString());
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void adjust(Map<String, AtomicLong> map, Object key, long delta) {
+        AtomicLong counter = map.computeIfAbsent(key(key), k -> new AtomicLong());
+        counter.addAndGet(delta);
+    }
+
+    private static String key(Object value) {
+        if (value == null) {
+            return NONE;
+        }
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    private static Map<String, Long> copy(Map<String, AtomicLong> source) {
+        Map<String, Long> result = new TreeMap<>();
+        source.forEach((k, v) -> {
+            if (v.get() != 0) {
+                result.put(k, v.get());
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static long sum(Map<String, Long> map) {
+        long total = 0;
+        for (Long v : map.values()) {
+            total += v;
+        }
+        return total;
+    }
+
+    private static class CachedSnapshot {
+        private final long version;
+        private final Map<String, Object> data;
+
+        private CachedSnapshot(long version, Map<String, Object> data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
+
+    private static class Counters {
+        private final Map<String, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> jobsByStatus = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> jobsByCategory = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> proposalsByStatus = new ConcurrentHashMap<>();
+        private final AtomicLong startedJobs = new AtomicLong();
+        private final AtomicLong timeToStartSeconds = new AtomicLong();
+    }
+}
@@ -0,0 +1,302 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.entity.AiTask;
+import com.jobpazar.backend.entity.AiTaskStatus;
+import com.jobpazar.backend.entity.AiTaskType;
+import com.jobpazar.backend.entity.Feedback;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.repository.AiTaskRepository;
+import com.jobpazar.backend.repository.FeedbackRepository;
+import com.jobpazar.backend.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent queue for bulk AI work (e.g. regenerating hundreds of job descriptions).
+ * <p>
+ * Tasks are stored in ai_tasks. A worker thread of its own (the batch blocks on
+ * Gemini, so it must not hold the shared scheduler thread) claims a small batch, runs
+ * the Gemini calls with bounded concurrency through the usual traffic guard, and then
+ * writes all results of the batch back in one transaction.
+ * <p>
+ * Claims are a conditional UPDATE stamped with a token, so with several nodes each
+ * task runs on one of them. A claim is a lease: RUNNING tasks claimed longer than
+ * ai.tasks.lease-ms ago belong to a worker that died and are put back to PENDING.
+ */
+@Service
+public class AiTaskService {
+
+    private static final String CLIENT_KEY = "ai-batch";
+    private static final int JOB_DESCRIPTION_MAX = 2000; // Job.description column length
+
+    @Autowired
+    private AiTaskRepository aiTaskRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private GeminiService geminiService;
+
+    @Autowired
+    private PromptRegistry promptRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ai.tasks.batch-size:20}")
+    private int batchSize;
+
+    @Value("${ai.tasks.concurrency:2}")
+    private int concurrency;
+
+    @Value("${ai.tasks.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ai.tasks.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    // Longer than a batch can take (batch-size calls at the traffic guard's pace)
+    @Value("${ai.tasks.lease-ms:600000}")
+    private long leaseMs;
+
+    private ScheduledExecutorService worker;
+
+    // Submits one task per target. With no ids, all OPEN jobs / all unreplied feedback are queued.
+    public Map<String, Object> submit(AiTaskType type, List<Long> ids) {
+        List<Long> targetIds = ids;
+        if (targetIds == null || targetIds.isEmpty()) {
+            targetIds = type == AiTaskType.JOB_DESCRIPTION
+                    ? jobRepository.findIdsByStatus(JobStatus.OPEN)
+                    : feedbackRepository.findUnrepliedIds();
+        }
+
+        String batchId = UUID.randomUUID().toString();
+        List<AiTask> tasks = new ArrayList<>(targetIds.size());
+        for (Long targetId : targetIds) {
+            AiTask task = new AiTask();
+            task.setBatchId(batchId);
+            task.setType(type);
+            task.setTargetId(targetId);
+            tasks.add(task);
+        }
+        aiTaskRepository.saveAll(tasks);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("batchId", batchId);
+        response.put("submitted", tasks.size());
+        return response;
+    }
+
+    public Map<String, Object> getBatchStatus(String batchId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (AiTaskStatus status : AiTaskStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        long total = 0;
+        for (Object[] row : aiTaskRepository.countByStatusForBatch(batchId)) {
+            counts.put(((AiTaskStatus) row[0]).name(), (Long) row[1]);
+            total += (Long) row[1];
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("batchId", batchId);
+        response.put("total", total);
+        response.put("counts", counts);
+        response.put("finished", counts.get("PENDING") == 0 && counts.get("RUNNING") == 0);
+        return response;
+    }
+
+    public Page<AiTask> getBatchResults(String batchId, int page, int size) {
+        return aiTaskRepository.findByBatchId(batchId, PageRequest.of(page, Math.min(size, 200)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorker() {
+        worker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ai-tasks").daemon(true).factory());
+        worker.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    private void poll() {
+        try {
+            processPendingTasks();
+        } catch (Exception e) {
+            // An exception escaping here would cancel the schedule
+            System.err.println("AI task poll failed: " + e.getMessage());
+        }
+    }
+
+    public void processPendingTasks() {
+        String claimToken = UUID.randomUUID().toString();
+        List<AiTask> tasks = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int released = aiTaskRepository.releaseExpired(now.minus(Duration.ofMillis(leaseMs)),
+                    AiTaskStatus.RUNNING, AiTaskStatus.PENDING);
+            if (released > 0) {
+                System.out.println("AI tasks with an expired claim put back to PENDING: " + released);
+            }
+            List<Long> ids = aiTaskRepository.findIdsByStatus(AiTaskStatus.PENDING, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()
+                    || aiTaskRepository.claim(ids, claimToken, now, AiTaskStatus.PENDING, AiTaskStatus.RUNNING) == 0) {
+                return List.<AiTask>of();
+            }
+            return aiTaskRepository.findByClaimToken(claimToken);
+        });
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Job> jobs = loadJobs(tasks);
+        Map<Long, Feedback> feedbacks = loadFeedbacks(tasks);
+
+        // Calls run concurrently (bounded) but the worker thread waits for the whole batch
+        Flux.fromIterable(tasks)
+                .flatMap(task -> run(task, jobs, feedbacks), concurrency)
+                .collectList()
+                .block();
+
+        transactionTemplate.executeWithoutResult(status -> writeBack(tasks, claimToken));
+    }
+
+    private Mono<AiTask> run(AiTask task, Map<Long, Job> jobs, Map<Long, Feedback> feedbacks) {
+        String prompt = buildPrompt(task, jobs, feedbacks);
+        if (prompt == null) {
+            task.setStatus(AiTaskStatus.FAILED);
+            task.setError("Target not found");
+            return Mono.just(task);
+        }
+
+        return geminiService.generateContentMono(prompt, CLIENT_KEY)
+                .map(result -> {
+                    task.setAttempts(task.getAttempts() + 1);
+                    task.setResult(result.trim());
+                    task.setStatus(AiTaskStatus.DONE);
+                    task.setError(null);
+                    return task;
+                })
+                .onErrorResume(e -> {
+                    if (e instanceof GeminiTrafficGuard.RejectedException) {
+                        // Quota / breaker rejections never reached Gemini: retried on a later poll, not counted
+                        task.setStatus(AiTaskStatus.PENDING);
+                    } else {
+                        task.setAttempts(task.getAttempts() + 1);
+                        task.setStatus(task.getAttempts() >= maxAttempts ? AiTaskStatus.FAILED : AiTaskStatus.PENDING);
+                    }
+                    String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    task.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                    return Mono.just(task);
+                });
+    }
+
+    private String buildPrompt(AiTask task, Map<Long, Job> jobs, Map<Long, Feedback> feedbacks) {
+        if (task.getType() == AiTaskType.JOB_DESCRIPTION) {
+            Job job = jobs.get(task.getTargetId());
+            if (job == null) {
+                return null;
+            }
+            Map<String, String> inputs = new HashMap<>();
+            inputs.put("title", job.getTitle() != null ? job.getTitle() : "Belirtilmemiş");
+            String description = job.getDescription();
+            if (description == null || description.trim().length() < 5) {
+                return promptRegistry.render(PromptRegistry.JOB_DESCRIPTION_FROM_TITLE, inputs);
+            }
+            inputs.put("draft", description);
+            return promptRegistry.render(PromptRegistry.JOB_DESCRIPTION_REFINE, inputs);
+        }
+
+        Feedback feedback = feedbacks.get(task.getTargetId());
+        if (feedback == null || feedback.getMessage() == null) {
+            return null;
+        }
+        return promptRegistry.render(PromptRegistry.REFINE_FEEDBACK, Map.of("text", feedback.getMessage()));
+    }
+
+    // Jobs are re-read inside the transaction so only the description is overwritten,
+    // not fields (e.g. status) that changed while Gemini was running. Tasks whose claim
+    // expired and was taken by another worker meanwhile are left to that worker.
+    private void writeBack(List<AiTask> claimed, String claimToken) {
+        Set<Long> stillOwned = aiTaskRepository.findByClaimToken(claimToken).stream()
+                .map(AiTask::getId)
+                .collect(Collectors.toSet());
+        List<AiTask> tasks = claimed.stream().filter(task -> stillOwned.contains(task.getId())).toList();
+
+        Map<Long, String> descriptions = new HashMap<>();
+        for (AiTask task : tasks) {
+            if (task.getStatus() == AiTaskStatus.DONE || task.getStatus() == AiTaskStatus.FAILED) {
+                task.setCompletedAt(LocalDateTime.now());
+            }
+            if (task.getType() == AiTaskType.JOB_DESCRIPTION && task.getStatus() == AiTaskStatus.DONE) {
+                String result = task.getResult();
+                descriptions.put(task.getTargetId(),
+                        result.length() > JOB_DESCRIPTION_MAX ? result.substring(0, JOB_DESCRIPTION_MAX) : result);
+            }
+        }
+
+        if (!descriptions.isEmpty()) {
+            for (Job job : jobRepository.findAllById(descriptions.keySet())) {
+                job.setDescription(descriptions.get(job.getId()));
+            }
+        }
+        aiTaskRepository.saveAll(tasks);
+    }
+
+    private Map<Long, Job> loadJobs(List<AiTask> tasks) {
+        List<Long> ids = tasks.stream()
+                .filter(t -> t.getType() == AiTaskType.JOB_DESCRIPTION)
+                .map(AiTask::getTargetId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return jobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+    }
+
+    private Map<Long, Feedback> loadFeedbacks(List<AiTask> tasks) {
+        List<Long> ids = tasks.stream()
+                .filter(t -> t.getType() == AiTaskType.FEEDBACK_TRIAGE)
+                .map(AiTask::getTargetId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return feedbackRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Feedback::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.entity.DailyMarketStats;
+import com.jobpazar.backend.repository.DailyMarketStatsRepository;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.ProposalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rolls the live jobs/proposals tables up into one daily_market_stats row per day.
+ * <p>
+ * The scheduled run only aggregates days after the last stored one (plus today so far),
+ * so each run touches one or two days of data through indexed range queries.
+ * Dashboards then read a few hundred bytes per day instead of scanning the live tables.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    @Autowired
+    private DailyMarketStatsRepository dailyStatsRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Scheduled(cron = "${analytics.rollup.cron:0 15 * * * *}")
+    public void rollupRecentDays() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = dailyStatsRepository.findTopByOrderByStatDateDesc()
+                .map(DailyMarketStats::getStatDate)
+                .orElse(today.minusDays(1));
+
+        // The last stored day may have been rolled up while it was still in progress
+        rollup(from, today);
+    }
+
+    // Recomputes every day in [from, to]. Defaults to the whole history up to today.
+    // Runs on the caller's thread, so the range is capped like the read side.
+    public int backfill(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from;
+        if (start == null) {
+            LocalDateTime first = jobRepository.findFirstCreatedAt();
+            start = first != null ? first.toLocalDate() : end;
+        }
+        checkRange(start, end);
+        return rollup(start, end);
+    }
+
+    public List<DailyMarketStats> getRange(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailyStatsRepository.findByStatDateBetweenOrderByStatDateAsc(from, to);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Range too large (max " + MAX_RANGE_DAYS + " days)");
+        }
+    }
+
+    private int rollup(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            dailyStatsRepository.save(aggregate(day));
+            days++;
+        }
+        System.out.println("Analytics rollup: " + days + " day(s) from " + from + " to " + to);
+        return days;
+    }
+
+    private DailyMarketStats aggregate(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+
+        DailyMarketStats stats = new DailyMarketStats();
+        stats.setStatDate(day);
+        stats.setJobsCreated(jobRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(start, end));
+        stats.setProposalsSubmitted(
+                proposalRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(start, end));
+        stats.setJobsCompleted(jobRepository.countByCompletedAtGreaterThanEqualAndCompletedAtLessThan(start, end));
+
+        List<Long> minutesToStart = new ArrayList<>();
+        for (Object[] row : jobRepository.findStartTimesBetween(start, end)) {
+            if (row[0] != null && row[1] != null) {
+                minutesToStart.add(Duration.between((LocalDateTime) row[0], (LocalDateTime) row[1]).toMinutes());
+            }
+        }
+        stats.setJobsStarted(minutesToStart.size());
+        stats.setMedianTimeToStartMinutes(median(minutesToStart));
+        stats.setUpdatedAt(LocalDateTime.now());
+        return stats;
+    }
+
+    private static Long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        values.sort(null);
+        int mid = values.size() / 2;
+        if (values.size() % 2 == 1) {
+            return values.get(mid);
+        }
+        return (values.get(mid - 1) + values.get(mid)) / 2;
+    }
+}
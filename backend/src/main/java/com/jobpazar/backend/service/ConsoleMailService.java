@@ -1,19 +1,27 @@
 package com.jobpazar.backend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ConsoleMailService implements IMailService {
 
     private final WebClient webClient;
 
-    public ConsoleMailService(WebClient.Builder webClientBuilder) {
+    private final MeterRegistry meterRegistry;
+
+    public ConsoleMailService(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+            @Value("${mail.service.url:http://127.0.0.1:8000}") String mailServiceUrl) {
         this.webClient = webClientBuilder
-                .baseUrl("http://127.0.0.1:8000")
+                .baseUrl(mailServiceUrl)
                 .build();
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -31,16 +39,32 @@ public class ConsoleMailService implements IMailService {
             mailData.put("subject", subject);
             mailData.put("body", body);
 
+            long start = System.nanoTime();
             webClient.post()
                     .uri("/send-mail")
                     .bodyValue(mailData)
                     .retrieve()
                     .bodyToMono(String.class)
-                    .doOnSuccess(res -> System.out.println("MAIL OK: " + res))
-                    .doOnError(err -> System.err.println("MAIL ERROR: " + err.getMessage()))
+                    .doOnSuccess(res -> {
+                        recordDispatch("success", start);
+                        System.out.println("MAIL OK: " + res);
+                    })
+                    .doOnError(err -> {
+                        recordDispatch("error", start);
+                        System.err.println("MAIL ERROR: " + err.getMessage());
+                    })
                     .subscribe();
         } catch (Exception e) {
             System.err.println("MAIL EXCEPTION: " + e.getMessage());
         }
     }
+
+    // mail.dispatch: time until the mail service answered
+    private void recordDispatch(String outcome, long startNanos) {
+        Timer.builder("mail.dispatch")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
 }
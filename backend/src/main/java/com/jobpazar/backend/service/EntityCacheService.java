@@ -0,0 +1,92 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Explicit control over the second-level entity cache (User, Job).
+ * <p>
+ * Changes made through the repositories keep the cache in sync on their own.
+ * Profile and admin edits still evict the row so the next read is guaranteed
+ * fresh, and the JDBC bulk statements (moderation, account purge) must evict
+ * because Hibernate never sees them.
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictUser(Long userId) {
+        cache().evict(User.class, userId);
+    }
+
+    public void evictUsers(Collection<Long> userIds) {
+        Cache cache = cache();
+        for (Long userId : userIds) {
+            cache.evict(User.class, userId);
+        }
+    }
+
+    public void evictJobs(Collection<Long> jobIds) {
+        Cache cache = cache();
+        for (Long jobId : jobIds) {
+            cache.evict(Job.class, jobId);
+        }
+    }
+
+    // When the affected ids are not known (e.g. jobs removed by employer_id)
+    public void evictAllJobs() {
+        cache().evict(Job.class);
+    }
+
+    public Map<String, Object> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("user", entityStats(statistics, User.class));
+        result.put("job", entityStats(statistics, Job.class));
+        result.put("since", statistics.getStart());
+        return result;
+    }
+
+    private Map<String, Object> entityStats(Statistics statistics, Class<?> entityClass) {
+        EntityStatistics entity = statistics.getEntityStatistics(entityClass.getName());
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("region", entity.getCacheRegionName());
+
+        // No region when the second-level cache is switched off
+        CacheRegionStatistics region = entity.getCacheRegionName() != null
+                ? statistics.getDomainDataRegionStatistics(entity.getCacheRegionName())
+                : null;
+        if (region != null) {
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            m.put("hits", hits);
+            m.put("misses", misses);
+            m.put("puts", region.getPutCount());
+            m.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            m.put("elementsInMemory", region.getElementCountInMemory());
+        }
+        // Rows actually read from the database
+        m.put("dbLoads", entity.getLoadCount());
+        return m;
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache();
+    }
+}
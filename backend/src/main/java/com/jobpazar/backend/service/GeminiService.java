@@ -1,19 +1,34 @@
 package com.jobpazar.backend.service;
 
+import com.jobpazar.backend.security.AuthenticatedUser;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class GeminiService {
@@ -21,85 +36,209 @@ public class GeminiService {
     @Value("${gemini.api.key}")
     private String apiKey;
 
-    @Value("${gemini.api.base}")
-    private String apiBase;
-
     @Value("${gemini.api.version}")
     private String apiVersion;
 
     @Value("${gemini.api.model}")
     private String apiModel;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final WebClient webClient;
 
-    @SuppressWarnings("unchecked")
+    private final GeminiTrafficGuard trafficGuard;
+
+    // Replaced by the application registry; the default keeps hand-built instances (tests) working
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public GeminiService(@Qualifier("geminiWebClient") WebClient webClient, GeminiTrafficGuard trafficGuard) {
+        this.webClient = webClient;
+        this.trafficGuard = trafficGuard;
+    }
+
+    // Blocking variant for callers that are not request threads (e.g. background jobs)
     public String generateContent(String prompt) {
-        try {
-            // Build URL from components
-            String url = String.format("%s/%s/models/%s:generateContent?key=%s",
-                    apiBase, apiVersion, apiModel, apiKey);
-
-            // Request Body
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", prompt);
-
-            Map<String, Object> content = new HashMap<>();
-            content.put("parts", Collections.singletonList(part));
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("contents", Collections.singletonList(content));
-
-            // Headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            // Call API
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    request,
-                    new ParameterizedTypeReference<Map<String, Object>>() {
-                    });
-
-            // Parse Response (Safely)
-            if (response.getBody() == null)
-                throw new RuntimeException("No response from AI.");
-
-            Map<String, Object> body = response.getBody();
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) body.get("candidates");
-
-            if (candidates == null || candidates.isEmpty())
-                throw new RuntimeException("No candidates returned.");
-
-            Map<String, Object> firstCandidate = candidates.get(0);
-
-            if (!firstCandidate.containsKey("content") || firstCandidate.get("content") == null) {
-                // Check for safety block or other finish reasons
-                String finishReason = (String) firstCandidate.get("finishReason");
-                if (finishReason != null) {
-                    throw new RuntimeException("AI Generation Failed. Finish Reason: " + finishReason);
-                }
-                throw new RuntimeException("AI returned no content.");
+        return generateContentMono(prompt, currentClientKey()).block();
+    }
+
+    // Non-blocking variant: the servlet thread is released while Gemini is working
+    public CompletableFuture<String> generateContentAsync(String prompt) {
+        return generateContentMono(prompt, currentClientKey()).toFuture();
+    }
+
+    public Mono<String> generateContentMono(String prompt, String clientKey) {
+        recordPromptSize("generate", prompt);
+        return trafficGuard.guard(clientKey, timed("generate", callGenerateContent(prompt)))
+                .onErrorMap(this::translateError);
+    }
+
+    private Mono<String> callGenerateContent(String prompt) {
+        return webClient.post()
+                .uri("/{version}/models/{model}:generateContent?key={key}", apiVersion, apiModel, apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildRequestBody(prompt))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .switchIfEmpty(Mono.error(new RuntimeException("No response from AI.")))
+                .map(this::extractText);
+    }
+
+    // Streams partial completions as they arrive. Cancelling the returned Flux
+    // (e.g. the client disconnected) closes the upstream Gemini connection.
+    public Flux<String> streamContent(String prompt) {
+        recordPromptSize("stream", prompt);
+        return trafficGuard.guard(currentClientKey(), timed("stream", callStreamContent(prompt)))
+                .onErrorMap(this::translateError);
+    }
+
+    // gemini.requests: provider latency by operation and HTTP status (queue wait is not included)
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(result -> recordCall(operation, "200", start))
+                    .doOnError(e -> recordCall(operation, statusTag(e), start))
+                    .doOnCancel(() -> recordCall(operation, "cancelled", start));
+        });
+    }
+
+    private <T> Flux<T> timed(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnComplete(() -> recordCall(operation, "200", start))
+                    .doOnError(e -> recordCall(operation, statusTag(e), start))
+                    .doOnCancel(() -> recordCall(operation, "cancelled", start));
+        });
+    }
+
+    private void recordCall(String operation, String status, long startNanos) {
+        Timer.builder("gemini.requests")
+                .tag("operation", operation)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordPromptSize(String operation, String prompt) {
+        DistributionSummary.builder("gemini.prompt.size")
+                .baseUnit("chars")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(prompt.length());
+    }
+
+    private static String statusTag(Throwable e) {
+        if (e instanceof WebClientResponseException w) {
+            return String.valueOf(w.getStatusCode().value());
+        }
+        if (e instanceof WebClientRequestException || e instanceof TimeoutException) {
+            return "io_error";
+        }
+        return "error";
+    }
+
+    private Flux<String> callStreamContent(String prompt) {
+        return webClient.post()
+                .uri("/{version}/models/{model}:streamGenerateContent?alt=sse&key={key}", apiVersion, apiModel, apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(buildRequestBody(prompt))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>>() {
+                })
+                .mapNotNull(ServerSentEvent::data)
+                .map(this::extractChunkText)
+                .filter(text -> !text.isEmpty());
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt) {
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", prompt);
+
+        Map<String, Object> content = new HashMap<>();
+        content.put("parts", Collections.singletonList(part));
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("contents", Collections.singletonList(content));
+        return requestBody;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractText(Map<String, Object> body) {
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) body.get("candidates");
+
+        if (candidates == null || candidates.isEmpty())
+            throw new RuntimeException("No candidates returned.");
+
+        Map<String, Object> firstCandidate = candidates.get(0);
+
+        if (!firstCandidate.containsKey("content") || firstCandidate.get("content") == null) {
+            // Check for safety block or other finish reasons
+            String finishReason = (String) firstCandidate.get("finishReason");
+            if (finishReason != null) {
+                throw new RuntimeException("AI Generation Failed. Finish Reason: " + finishReason);
             }
+            throw new RuntimeException("AI returned no content.");
+        }
+
+        Map<String, Object> contentPart = (Map<String, Object>) firstCandidate.get("content");
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) contentPart.get("parts");
+
+        if (parts == null || parts.isEmpty())
+            throw new RuntimeException("No content parts.");
+
+        return (String) parts.get(0).get("text");
+    }
+
+    // Stream chunks may legitimately carry no text (e.g. the final chunk with only a finishReason)
+    @SuppressWarnings("unchecked")
+    private String extractChunkText(Map<String, Object> chunk) {
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) chunk.get("candidates");
+        if (candidates == null || candidates.isEmpty())
+            return "";
+
+        Map<String, Object> firstCandidate = candidates.get(0);
+        Map<String, Object> contentPart = (Map<String, Object>) firstCandidate.get("content");
+        if (contentPart == null) {
+            String finishReason = (String) firstCandidate.get("finishReason");
+            if (finishReason != null && !"STOP".equals(finishReason)) {
+                throw new RuntimeException("AI Generation Failed. Finish Reason: " + finishReason);
+            }
+            return "";
+        }
 
-            Map<String, Object> contentPart = (Map<String, Object>) firstCandidate.get("content");
-            List<Map<String, Object>> parts = (List<Map<String, Object>>) contentPart.get("parts");
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) contentPart.get("parts");
+        if (parts == null || parts.isEmpty() || parts.get(0).get("text") == null)
+            return "";
 
-            if (parts == null || parts.isEmpty())
-                throw new RuntimeException("No content parts.");
+        return (String) parts.get(0).get("text");
+    }
 
-            return (String) parts.get(0).get("text");
+    // Rate-limit key: the token's user id, otherwise the caller's IP. Nothing the client can
+    // choose freely (such as a user id header) may be used, or every request could get a new key.
+    private String currentClientKey() {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user != null) {
+            return "user:" + user.id();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return "system";
+    }
 
-        } catch (org.springframework.web.client.HttpClientErrorException e) {
+    private Throwable translateError(Throwable e) {
+        if (e instanceof ResponseStatusException) {
+            return e;
+        }
+        if (e instanceof WebClientResponseException w && w.getStatusCode().is4xxClientError()) {
             // Capture 429 or others and rethrow as ResponseStatusException to preserve
             // status code
-            throw new org.springframework.web.server.ResponseStatusException(e.getStatusCode(),
-                    "AI Provider Error: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("AI Service Error: " + e.getMessage());
+            return new ResponseStatusException(w.getStatusCode(), "AI Provider Error: " + w.getMessage());
         }
+        System.err.println("AI Service Error: " + e.getMessage());
+        return new RuntimeException("AI Service Error: " + e.getMessage(), e);
     }
 }
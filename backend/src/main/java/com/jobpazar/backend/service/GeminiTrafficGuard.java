@@ -0,0 +1,305 @@
+package com.jobpazar.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps Gemini traffic inside our quota.
+ * <p>
+ * A smooth token bucket hands out start times in arrival order, so callers that
+ * cannot start immediately wait in a bounded FIFO queue instead of hitting the
+ * provider. Each client may only have a few requests queued or running at once.
+ * A circuit breaker opens after consecutive 429/5xx/timeout failures and fails
+ * fast until the cool-down ends, then lets a single trial request through.
+ */
+@Component
+public class GeminiTrafficGuard {
+
+    public enum BreakerState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final double maxBurst;
+    private final long intervalNanos;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final int perClientMax;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // Token bucket state (guarded by this)
+    private double storedPermits;
+    private long nextFreeNanos = System.nanoTime();
+
+    // Breaker state (guarded by this)
+    private BreakerState breakerState = BreakerState.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejectedQueueFull = new AtomicLong();
+    private final AtomicLong rejectedPerClient = new AtomicLong();
+    private final AtomicLong rejectedBreakerOpen = new AtomicLong();
+    private final Map<String, AtomicInteger> perClient = new ConcurrentHashMap<>();
+
+    // The call was turned away by the guard (queue, per-client limit, breaker) and never reached Gemini
+    public static class RejectedException extends ResponseStatusException {
+        public RejectedException(HttpStatus status, String reason) {
+            super(status, reason);
+        }
+    }
+
+    public GeminiTrafficGuard(
+            @Value("${gemini.limit.requests-per-minute:60}") int requestsPerMinute,
+            @Value("${gemini.limit.burst:10}") int burst,
+            @Value("${gemini.limit.max-queue:100}") int maxQueue,
+            @Value("${gemini.limit.max-wait-ms:30000}") long maxWaitMs,
+            @Value("${gemini.limit.per-client-max:3}") int perClientMax,
+            @Value("${gemini.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${gemini.breaker.open-ms:30000}") long openMs) {
+        this.maxBurst = burst;
+        this.storedPermits = burst;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.perClientMax = perClientMax;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+    }
+
+    public <T> Mono<T> guard(String clientKey, Mono<T> call) {
+        return Mono.defer(() -> {
+            Admission admission = admit(clientKey);
+            return Mono.delay(Duration.ofNanos(admission.waitNanos))
+                    .doFinally(signal -> queueDepth.decrementAndGet())
+                    .then(Mono.defer(() -> {
+                        admission.start();
+                        return call;
+                    }))
+                    .doOnSuccess(result -> onSuccess())
+                    .doOnError(this::onError)
+                    .doOnCancel(admission::cancel)
+                    .doFinally(signal -> admission.release());
+        });
+    }
+
+    public <T> Flux<T> guard(String clientKey, Flux<T> call) {
+        return Flux.defer(() -> {
+            Admission admission = admit(clientKey);
+            return Mono.delay(Duration.ofNanos(admission.waitNanos))
+                    .doFinally(signal -> queueDepth.decrementAndGet())
+                    .thenMany(Flux.defer(() -> {
+                        admission.start();
+                        return call;
+                    }))
+                    .doOnComplete(this::onSuccess)
+                    .doOnError(this::onError)
+                    .doOnCancel(admission::cancel)
+                    .doFinally(signal -> admission.release());
+        });
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("breakerState", currentBreakerState().name());
+            stats.put("consecutiveFailures", consecutiveFailures);
+        }
+        stats.put("queueDepth", queueDepth.get());
+        stats.put("inFlight", inFlight.get());
+        stats.put("maxQueue", maxQueue);
+        stats.put("rejectedQueueFull", rejectedQueueFull.get());
+        stats.put("rejectedPerClient", rejectedPerClient.get());
+        stats.put("rejectedBreakerOpen", rejectedBreakerOpen.get());
+        stats.put("activeClients", perClient.size());
+        return stats;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedQueueFull() {
+        return rejectedQueueFull.get();
+    }
+
+    public long getRejectedPerClient() {
+        return rejectedPerClient.get();
+    }
+
+    public long getRejectedBreakerOpen() {
+        return rejectedBreakerOpen.get();
+    }
+
+    public synchronized BreakerState getBreakerState() {
+        return currentBreakerState();
+    }
+
+    private Admission admit(String clientKey) {
+        AtomicInteger clientCount = perClient.computeIfAbsent(clientKey, k -> new AtomicInteger());
+        if (clientCount.incrementAndGet() > perClientMax) {
+            releaseClient(clientKey, clientCount);
+            rejectedPerClient.incrementAndGet();
+            throw new RejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Çok fazla eşzamanlı AI isteği. Lütfen önceki isteğinizin bitmesini bekleyin.");
+        }
+
+        Admission admission = new Admission(clientKey, clientCount);
+        try {
+            reserve(admission);
+        } catch (ResponseStatusException e) {
+            releaseClient(clientKey, clientCount);
+            throw e;
+        }
+        return admission;
+    }
+
+    private synchronized void reserve(Admission admission) {
+        long now = System.nanoTime();
+
+        BreakerState state = currentBreakerState();
+        if (state == BreakerState.OPEN) {
+            rejectedBreakerOpen.incrementAndGet();
+            throw new RejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "AI servisi geçici olarak kullanılamıyor. Lütfen biraz sonra tekrar deneyin.");
+        }
+        if (state == BreakerState.HALF_OPEN) {
+            if (inFlight.get() > 0 || queueDepth.get() > 0) {
+                // A trial request is already running
+                rejectedBreakerOpen.incrementAndGet();
+                throw new RejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "AI servisi geçici olarak kullanılamıyor. Lütfen biraz sonra tekrar deneyin.");
+            }
+        }
+
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(maxBurst, storedPermits + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+
+        long waitNanos = nextFreeNanos - now;
+        if (queueDepth.get() >= maxQueue || waitNanos > maxWaitNanos) {
+            rejectedQueueFull.incrementAndGet();
+            throw new RejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "AI servisi şu anda yoğun. Lütfen biraz sonra tekrar deneyin.");
+        }
+
+        if (storedPermits >= 1) {
+            storedPermits -= 1;
+        } else {
+            nextFreeNanos += intervalNanos;
+            admission.borrowed = true;
+        }
+        queueDepth.incrementAndGet();
+        admission.waitNanos = waitNanos;
+    }
+
+    // A caller that gave up while queued hands its start time back to the bucket
+    private synchronized void refund(Admission admission) {
+        if (admission.borrowed) {
+            nextFreeNanos -= intervalNanos;
+        } else {
+            storedPermits = Math.min(maxBurst, storedPermits + 1);
+        }
+    }
+
+    private BreakerState currentBreakerState() {
+        if (breakerState == BreakerState.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            breakerState = BreakerState.HALF_OPEN;
+        }
+        return breakerState;
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        breakerState = BreakerState.CLOSED;
+    }
+
+    private void onError(Throwable e) {
+        if (!isProviderDegradation(e)) {
+            // The provider answered, it just did not like this request
+            onSuccess();
+            return;
+        }
+        synchronized (this) {
+            consecutiveFailures++;
+            if (breakerState == BreakerState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (breakerState != BreakerState.OPEN) {
+                    System.err.println("Gemini circuit breaker OPEN after " + consecutiveFailures + " failures");
+                }
+                breakerState = BreakerState.OPEN;
+                openUntilNanos = System.nanoTime() + openNanos;
+            }
+        }
+    }
+
+    private boolean isProviderDegradation(Throwable e) {
+        if (e instanceof WebClientResponseException w) {
+            return w.getStatusCode().value() == 429 || w.getStatusCode().is5xxServerError();
+        }
+        if (e instanceof ResponseStatusException r) {
+            return r.getStatusCode().value() == 429 || r.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException
+                || e.getCause() instanceof TimeoutException;
+    }
+
+    private void releaseClient(String clientKey, AtomicInteger clientCount) {
+        if (clientCount.decrementAndGet() <= 0) {
+            perClient.remove(clientKey, clientCount);
+        }
+    }
+
+    private class Admission {
+        private final String clientKey;
+        private final AtomicInteger clientCount;
+        private long waitNanos; // set by reserve()
+        private boolean borrowed; // start time taken from the future rather than a stored permit
+        private volatile boolean started;
+
+        private Admission(String clientKey, AtomicInteger clientCount) {
+            this.clientKey = clientKey;
+            this.clientCount = clientCount;
+        }
+
+        private void start() {
+            started = true;
+            inFlight.incrementAndGet();
+        }
+
+        private void cancel() {
+            if (!started) {
+                refund(this);
+            }
+        }
+
+        private void release() {
+            if (started) {
+                inFlight.decrementAndGet();
+            }
+            releaseClient(clientKey, clientCount);
+        }
+    }
+}
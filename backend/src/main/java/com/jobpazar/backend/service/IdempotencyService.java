@@ -0,0 +1,157 @@
+package com.jobpazar.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored outcomes of write requests sent with an Idempotency-Key header.
+ * <p>
+ * The first request with a key claims it by inserting a row into idempotency_keys
+ * (the primary key makes the claim atomic across nodes), runs, and stores its response
+ * on the row. Repeats get that response back without running again; a repeat that
+ * arrives while the first is still running is told to retry. Finished entries are also
+ * kept in a bounded in-memory cache so most repeats never reach the database.
+ * Entries expire after idempotency.ttl-hours; a claim whose request never finished
+ * (node crash) can be taken over after idempotency.lock-timeout-ms.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${idempotency.lock-timeout-ms:60000}")
+    private long lockTimeoutMs;
+
+    @Value("${idempotency.cache.max-entries:10000}")
+    private long cacheMaxEntries;
+
+    private Cache<String, StoredResponse> completed;
+
+    public enum Outcome {
+        CLAIMED, // run the request, then complete() or release()
+        REPLAY, // same key and payload already done: send the stored response
+        IN_PROGRESS, // same key is running right now
+        MISMATCH // key reused with a different payload
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+    }
+
+    public Claim begin(String key, String requestHash) {
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached.requestHash().equals(requestHash)
+                    ? new Claim(Outcome.REPLAY, cached)
+                    : new Claim(Outcome.MISMATCH, null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (tryInsert(key, requestHash, now)) {
+            return new Claim(Outcome.CLAIMED, null);
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT request_hash, status, response_status, response_content_type, response_body, created_at, "
+                        + "expires_at FROM idempotency_keys WHERE idempotency_key = ?",
+                key);
+        if (rows.isEmpty()) {
+            // Released or purged between the insert and the select
+            return tryInsert(key, requestHash, now) ? new Claim(Outcome.CLAIMED, null)
+                    : new Claim(Outcome.IN_PROGRESS, null);
+        }
+
+        Map<String, Object> row = rows.get(0);
+        LocalDateTime createdAt = toLocalDateTime(row.get("created_at"));
+        boolean expired = toLocalDateTime(row.get("expires_at")).isBefore(now);
+        boolean abandoned = IN_PROGRESS.equals(row.get("status"))
+                && createdAt.isBefore(now.minusNanos(lockTimeoutMs * 1_000_000));
+        if (expired || abandoned) {
+            // Only the request that removes this exact row may claim the key again
+            int removed = jdbcTemplate.update(
+                    "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at = ?",
+                    key, Timestamp.valueOf(createdAt));
+            return removed == 1 && tryInsert(key, requestHash, now) ? new Claim(Outcome.CLAIMED, null)
+                    : new Claim(Outcome.IN_PROGRESS, null);
+        }
+
+        if (!requestHash.equals(row.get("request_hash"))) {
+            return new Claim(Outcome.MISMATCH, null);
+        }
+        if (!COMPLETED.equals(row.get("status"))) {
+            return new Claim(Outcome.IN_PROGRESS, null);
+        }
+        StoredResponse stored = new StoredResponse(requestHash, ((Number) row.get("response_status")).intValue(),
+                (String) row.get("response_content_type"), (byte[]) row.get("response_body"));
+        completed.put(key, stored);
+        return new Claim(Outcome.REPLAY, stored);
+    }
+
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status = ?, response_status = ?, "
+                + "response_content_type = ?, response_body = ? WHERE idempotency_key = ?",
+                COMPLETED, response.status(), response.contentType(), response.body(), key);
+        completed.put(key, response);
+    }
+
+    // The request failed without a usable response; the client may retry with the same key
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status = ?", key, IN_PROGRESS);
+    }
+
+    @Scheduled(initialDelayString = "${idempotency.purge-interval-ms:600000}",
+            fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (purged > 0) {
+            System.out.println("Expired idempotency keys purged: " + purged);
+        }
+    }
+
+    private boolean tryInsert(String key, String requestHash, LocalDateTime now) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, status, created_at, "
+                    + "expires_at) VALUES (?, ?, ?, ?, ?)",
+                    key, requestHash, IN_PROGRESS, Timestamp.valueOf(now), Timestamp.valueOf(now.plusHours(ttlHours)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // MySQL Connector/J returns DATETIME as LocalDateTime, H2 as Timestamp
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
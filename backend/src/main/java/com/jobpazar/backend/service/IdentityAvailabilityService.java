@@ -0,0 +1,246 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.config.StartupTasks;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Username/email availability for the registration form.
+ * <p>
+ * All taken (normalized) usernames and emails are kept in two in-memory Bloom
+ * filters. A "not in filter" answer is definite, so most checks never reach
+ * MySQL; only a possible match is confirmed with an indexed exists query.
+ * The filters only grow, so they are rebuilt periodically from the table to
+ * drop purged accounts; each rebuild is sized for at least twice the current
+ * user count.
+ */
+@Service
+public class IdentityAvailabilityService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    @Value("${identity.bloom.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${identity.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${identity.bloom.page-size:5000}")
+    private int pageSize;
+
+    // null until the first build; checks go to the database meanwhile
+    private volatile Filters current;
+    // Non-null while a rebuild is loading, so concurrent registrations are not lost
+    private volatile Filters building;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong databaseChecks = new AtomicLong();
+
+    // Users whose username or email clashes with another account ignoring case; an admin has to
+    // rename one of them before their row can be fully normalized
+    private final Set<Long> identityConflicts = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        backfillNormalizedColumns();
+        // Until the first build every check goes to the database, so this can finish after startup
+        startupTasks.runNonCritical("identity-filter", this::rebuild);
+    }
+
+    @Scheduled(initialDelayString = "${identity.bloom.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${identity.bloom.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        // A lock rather than synchronized: the rebuild runs JDBC queries, and blocking inside
+        // synchronized pins a virtual thread to its carrier
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long start = System.currentTimeMillis();
+        Filters fresh = new Filters(Math.max(expectedInsertions, userRepository.count() * 2), falsePositiveRate);
+        building = fresh;
+        try {
+            Long afterId = 0L;
+            List<Object[]> page;
+            do {
+                page = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, pageSize));
+                for (Object[] row : page) {
+                    fresh.add((String) row[1], (String) row[2]);
+                    afterId = (Long) row[0];
+                }
+            } while (page.size() == pageSize);
+            current = fresh;
+        } finally {
+            building = null;
+        }
+        System.out.println("Identity filter rebuilt: " + fresh.usernames.getInsertions() + " users in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // Called after a user is saved with a new username/email
+    public void register(User user) {
+        String username = User.normalize(user.getUsername());
+        String email = User.normalize(user.getEmail());
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.add(username, email);
+        }
+    }
+
+    public Map<String, Object> check(String username, String email) {
+        Filters filters = current;
+        Map<String, Object> result = new LinkedHashMap<>();
+        String usernameKey = User.normalize(username);
+        if (usernameKey != null && !usernameKey.isEmpty()) {
+            result.put("usernameAvailable", isAvailable(filters != null ? filters.usernames : null, usernameKey,
+                    userRepository::existsByUsernameNormalized));
+        }
+        String emailKey = User.normalize(email);
+        if (emailKey != null && !emailKey.isEmpty()) {
+            result.put("emailAvailable", isAvailable(filters != null ? filters.emails : null, emailKey,
+                    userRepository::existsByEmailNormalized));
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Filters filters = current;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", filters != null);
+        result.put("filterNegatives", filterNegatives.get());
+        result.put("databaseChecks", databaseChecks.get());
+        result.put("identityConflicts", new TreeSet<>(identityConflicts));
+        if (filters != null) {
+            result.put("entries", filters.usernames.getInsertions());
+            result.put("bitsPerFilter", filters.usernames.getBitCount());
+            result.put("hashFunctions", filters.usernames.getHashCount());
+            result.put("saturated", filters.usernames.isSaturated());
+        }
+        return result;
+    }
+
+    private boolean isAvailable(BloomFilter filter, String key, Predicate<String> existsInDatabase) {
+        if (filter != null && !filter.mightContain(key)) {
+            filterNegatives.incrementAndGet();
+            return true;
+        }
+        databaseChecks.incrementAndGet();
+        return !existsInDatabase.test(key);
+    }
+
+    // Fills the normalized columns for rows written before they existed. Done in Java
+    // (not LOWER() in SQL) so the values match User.normalize exactly.
+    private void backfillNormalizedColumns() {
+        long lastId = 0;
+        int updated = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(
+                    "SELECT id, username, email FROM users WHERE id > ? "
+                            + "AND (username_normalized IS NULL OR email_normalized IS NULL) ORDER BY id LIMIT ?",
+                    lastId, pageSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> args = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                args.add(new Object[] { User.normalize((String) row.get("username")),
+                        User.normalize((String) row.get("email")), row.get("id") });
+                lastId = ((Number) row.get("id")).longValue();
+            }
+            String sql = "UPDATE users SET username_normalized = ?, email_normalized = ? WHERE id = ?";
+            try {
+                jdbcTemplate.batchUpdate(sql, args);
+                updated += args.size();
+            } catch (DataIntegrityViolationException e) {
+                // Existing case-insensitive duplicates: update row by row and report the conflicts
+                for (Object[] arg : args) {
+                    try {
+                        updated += jdbcTemplate.update(sql, arg);
+                    } catch (DataIntegrityViolationException conflict) {
+                        updated += fillWithoutConflict(arg);
+                    }
+                }
+            }
+        } while (rows.size() == pageSize);
+
+        if (updated > 0) {
+            System.out.println("Normalized identity columns backfilled for " + updated + " users");
+        }
+    }
+
+    // Fills each column on its own so the one that does not clash (usually the username, which
+    // login looks up) is still set, and lists the user in the admin stats until it is renamed
+    private int fillWithoutConflict(Object[] arg) {
+        long id = ((Number) arg[2]).longValue();
+        identityConflicts.add(id);
+        String[] columns = { "username_normalized", "email_normalized" };
+        boolean filled = false;
+        for (int i = 0; i < columns.length; i++) {
+            try {
+                filled |= jdbcTemplate.update("UPDATE users SET " + columns[i] + " = ? WHERE id = ?", arg[i], id) > 0;
+            } catch (DataIntegrityViolationException conflict) {
+                System.err.println("Duplicate " + columns[i] + ", left unnormalized: user " + id);
+            }
+        }
+        return filled ? 1 : 0;
+    }
+
+    private static class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.jobpazar.backend.service;
 
+import com.jobpazar.backend.config.ReplicaRead;
+import com.jobpazar.backend.dto.JobResponse;
 import com.jobpazar.backend.entity.Job;
 import com.jobpazar.backend.entity.JobStatus;
-import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.JobRepository;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,17 +23,22 @@ public class JobService {
     private UserRepository userRepository;
 
     public Job createJob(Job job, Long employerId) {
-        User employer = userRepository.findById(employerId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        job.setEmployer(employer);
+        job.setEmployer(userRepository.getActingUser(employerId));
         job.setStatus(JobStatus.OPEN);
         return jobRepository.save(job);
     }
 
-    public List<Job> getAllOpenJobs() {
-        return jobRepository.findAllByStatus(JobStatus.OPEN);
+    // Open jobs with an id above afterId, in id order. Each page is its own short transaction,
+    // so no connection is held while the caller writes the previous page to a slow client.
+    @ReplicaRead
+    public List<JobResponse> getOpenJobPage(long afterId, int size) {
+        return jobRepository.findPageByStatusAfter(JobStatus.OPEN, afterId, PageRequest.of(0, size))
+                .stream()
+                .map(JobResponse::from)
+                .toList();
     }
 
+    @ReplicaRead
     public List<Job> getMyJobs(Long userId) {
         return jobRepository.findAllByEmployerId(userId);
     }
@@ -38,6 +46,7 @@ public class JobService {
     public Job updateJob(Long jobId, Job jobDetails) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
+        AuthenticatedUser.checkOwner(job.getEmployer().getId());
 
         job.setTitle(jobDetails.getTitle());
         job.setDescription(jobDetails.getDescription());
@@ -49,12 +58,16 @@ public class JobService {
         return jobRepository.save(job);
     }
 
+    @ReplicaRead
     public Job getJobById(Long id) {
         return jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found"));
     }
 
     public void deleteJob(Long id) {
-        jobRepository.deleteById(id);
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+        AuthenticatedUser.checkOwner(job.getEmployer().getId());
+        jobRepository.delete(job);
     }
 }
@@ -0,0 +1,240 @@
+package com.jobpazar.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk moderation for spam waves.
+ * <p>
+ * Jobs are removed in chunks: each chunk deletes the proposals of its jobs and
+ * then the jobs themselves with two set-based statements in one short transaction.
+ * Large operations run in the background and report progress by operation id.
+ * Users are only flagged; {@link AccountDeletionService} purges their data.
+ */
+@Service
+public class ModerationService {
+
+    private static final int MAX_TRACKED_OPERATIONS = 100;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${moderation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // One moderation operation at a time keeps the load on the hot tables predictable
+    private ExecutorService executor;
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+    public record JobFilter(Long employerId, String status, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        public boolean isEmpty() {
+            return employerId == null && status == null && createdFrom == null && createdTo == null;
+        }
+    }
+
+    public Map<String, Object> deleteJobs(List<Long> ids, JobFilter filter) {
+        List<Long> targetIds = ids != null && !ids.isEmpty() ? ids : findJobIds(filter);
+        Operation operation = track("DELETE_JOBS", targetIds.size());
+
+        executor.submit(() -> {
+            try {
+                for (int from = 0; from < targetIds.size(); from += chunkSize) {
+                    List<Long> chunk = targetIds.subList(from, Math.min(from + chunkSize, targetIds.size()));
+                    deleteJobChunk(chunk);
+                    operation.processed.addAndGet(chunk.size());
+                }
+                operation.finish(null);
+            } catch (Exception e) {
+                System.err.println("Moderation " + operation.id + " failed: " + e.getMessage());
+                operation.finish(e.getMessage());
+            } finally {
+                adminStatsService.reconcile();
+            }
+        });
+        return operation.toMap();
+    }
+
+    // Synchronous variant for a single job from the admin panel. The statements bypass the
+    // Hibernate events, so the stats counters are adjusted here rather than by a full recount.
+    public void deleteJob(Long jobId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", jobId);
+        DeletedJob deleted = transactionTemplate.execute(status -> {
+            List<DeletedJob> rows = jdbcTemplate.query(
+                    "SELECT status, category, created_at, started_at FROM jobs WHERE id = :id FOR UPDATE", params,
+                    (rs, n) -> new DeletedJob(rs.getString("status"), rs.getString("category"),
+                            rs.getObject("created_at", LocalDateTime.class),
+                            rs.getObject("started_at", LocalDateTime.class), new HashMap<>()));
+            if (rows.isEmpty()) {
+                return null;
+            }
+            DeletedJob job = rows.get(0);
+            jdbcTemplate.query("SELECT status, COUNT(*) FROM proposals WHERE job_id = :id GROUP BY status", params,
+                    rs -> {
+                        job.proposalsByStatus().put(rs.getString(1), rs.getLong(2));
+                    });
+            jdbcTemplate.update("DELETE FROM proposals WHERE job_id = :id", params);
+            jdbcTemplate.update("DELETE FROM jobs WHERE id = :id", params);
+            return job;
+        });
+        entityCacheService.evictJobs(List.of(jobId));
+        if (deleted != null) {
+            adminStatsService.jobChanged(null, deleted.status(), null, deleted.category(), -1);
+            adminStatsService.jobStarted(deleted.createdAt(), deleted.startedAt(), -1);
+            deleted.proposalsByStatus().forEach((status, count) ->
+                    adminStatsService.proposalStatusChanged(null, status, -count.intValue()));
+        }
+    }
+
+    private record DeletedJob(String status, String category, LocalDateTime createdAt, LocalDateTime startedAt,
+            Map<String, Long> proposalsByStatus) {
+    }
+
+    public Map<String, Object> deleteUsers(Collection<Long> ids) {
+        Operation operation = track("DELETE_USERS", ids.size());
+        List<Long> list = new ArrayList<>(ids);
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            List<Long> chunk = list.subList(from, Math.min(from + chunkSize, list.size()));
+            int flagged = jdbcTemplate.update(
+                    "UPDATE users SET deleted = true, deleted_at = :now WHERE id IN (:ids) AND deleted = false",
+                    new MapSqlParameterSource("ids", chunk).addValue("now", LocalDateTime.now()));
+            entityCacheService.evictUsers(chunk);
+            operation.processed.addAndGet(flagged);
+        }
+        operation.finish(null);
+        return operation.toMap();
+    }
+
+    public Map<String, Object> getOperation(String id) {
+        synchronized (operations) {
+            Operation operation = operations.get(id);
+            return operation != null ? operation.toMap() : null;
+        }
+    }
+
+    @PostConstruct
+    public void startExecutor() {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("moderation").factory()
+                : Thread.ofPlatform().name("moderation").daemon(true).factory();
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private List<Long> findJobIds(JobFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("ids or at least one filter is required");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id FROM jobs WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (filter.employerId() != null) {
+            sql.append(" AND employer_id = :employerId");
+            params.addValue("employerId", filter.employerId());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", filter.status());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND created_at < :createdTo");
+            params.addValue("createdTo", filter.createdTo());
+        }
+        return jdbcTemplate.queryForList(sql.toString(), params, Long.class);
+    }
+
+    private void deleteJobChunk(List<Long> jobIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", jobIds);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM proposals WHERE job_id IN (:ids)", params);
+            jdbcTemplate.update("DELETE FROM jobs WHERE id IN (:ids)", params);
+        });
+        entityCacheService.evictJobs(jobIds);
+    }
+
+    private Operation track(String type, int total) {
+        Operation operation = new Operation(UUID.randomUUID().toString(), type, total);
+        synchronized (operations) {
+            operations.put(operation.id, operation);
+            if (operations.size() > MAX_TRACKED_OPERATIONS) {
+                operations.remove(operations.keySet().iterator().next());
+            }
+        }
+        return operation;
+    }
+
+    private static class Operation {
+        private final String id;
+        private final String type;
+        private final int total;
+        private final AtomicInteger processed = new AtomicInteger();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile String status = "RUNNING";
+        private volatile String error;
+
+        private Operation(String id, String type, int total) {
+            this.id = id;
+            this.type = type;
+            this.total = total;
+        }
+
+        private void finish(String error) {
+            this.error = error;
+            this.status = error == null ? "DONE" : "FAILED";
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("operationId", id);
+            map.put("type", type);
+            map.put("status", status);
+            map.put("total", total);
+            map.put("processed", processed.get());
+            map.put("startedAt", startedAt.toString());
+            map.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+            map.put("error", error);
+            return map;
+        }
+    }
+}
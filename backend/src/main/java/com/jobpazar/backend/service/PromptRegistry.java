@@ -0,0 +1,248 @@
+package com.jobpazar.backend.service;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All AI prompt templates, compiled once at startup.
+ * <p>
+ * Every template has an input budget (ai.prompt.budget.&lt;name&gt;, in estimated
+ * tokens) shared by its user-supplied slots. Inputs over budget are trimmed,
+ * largest first, keeping the beginning and the end of the text. Prompt size and
+ * Gemini latency are counted per template.
+ */
+@Component
+public class PromptRegistry {
+
+    public static final String CHAT = "chat";
+    public static final String REFINE_BIO = "refine-bio";
+    public static final String GENERATE_PROPOSAL = "generate-proposal";
+    public static final String REFINE_FEEDBACK = "refine-feedback";
+    public static final String ADMIN_REPORT = "admin-report";
+    public static final String JOB_DESCRIPTION_FROM_TITLE = "generate-job-description.title";
+    public static final String JOB_DESCRIPTION_REFINE = "generate-job-description.refine";
+
+    // Rough estimate for Gemini tokenization of Turkish text
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String TRUNCATION_MARKER = " [...] ";
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public PromptRegistry(Environment env) {
+        register(env, CHAT, 2000, "{message}");
+
+        register(env, REFINE_BIO, 500,
+                "Sen uzman bir kariyer koçu ve teknik işe alım uzmanısın. Görevin, verilen anahtar kelime ve bilgilere göre yapılandırılmış bir profil yazısı oluşturmak.\n"
+                        + "\n"
+                        + "Format Şöyle Olmalı:\n"
+                        + "1. **Giriş:** Maksimum 2 cümlelik, çok net ve kısa bir özet.\n"
+                        + "2. **Yetkinlikler:** En fazla 3-4 madde, sadece anahtar kelimeler (örn: '- C#, Unity, Fizik'). Uzun cümleler kurma.\n"
+                        + "\n"
+                        + "Kurallar:\n"
+                        + "- Dili TÜRKÇE kullan.\n"
+                        + "- ÇOK KISA ve ÖZ olsun. Toplam 40-50 kelimeyi geçmesin.\n"
+                        + "- Profesyonel ve net ol.\n"
+                        + "- Çıktıyı direk metin olarak ver (Markdown başlıkları kullanma, sadece paragraf ve tireli liste).\n"
+                        + "\n"
+                        + "Girdi: {text}");
+
+        register(env, GENERATE_PROPOSAL, 1500,
+                "Sen uzman bir freelancer koçusun. Aşağıdaki iş ilanına başvuracak bir freelancer için kısa, etkileyici ve ikna edici bir teklif yazısı (cover letter) yaz.\n"
+                        + "\n"
+                        + "İş Tanımı: {jobDescription}\n"
+                        + "Freelancer Notları/Becerileri: {userDraft}\n"
+                        + "\n"
+                        + "Kurallar:\n"
+                        + "1. Dili TÜRKÇE kullan.\n"
+                        + "2. ÇOK KISA ve NET olsun (Maksimum 3-4 cümle).\n"
+                        + "3. 'Ben bu işi yaparım' demek yerine, 'X tecrübemle bu sorunu çözerim' tonunda yaz.\n"
+                        + "4. Sadece teklif metnini döndür (Giriş/Selamlama dahil).\n");
+
+        register(env, REFINE_FEEDBACK, 800,
+                "Sen profesyonel bir iletişim asistanısın. Kullanıcının site yönetimine (Admin) göndermek istediği mesajı daha resmi, anlaşılır ve nazik bir dile çevir.\n"
+                        + "\n"
+                        + "Kullanıcı Taslağı: {text}\n"
+                        + "\n"
+                        + "Kurallar:\n"
+                        + "1. Dili TÜRKÇE kullan.\n"
+                        + "2. Resmi ve saygılı ol.\n"
+                        + "3. Mesajın özünü koru ama ifadeyi güçlendir.\n"
+                        + "4. Sadece düzeltilmiş metni döndür (Ekstra açıklama yapma).\n");
+
+        register(env, ADMIN_REPORT, 1500,
+                "Sen bir sistem yöneticisi asistanısın. Aşağıdaki istatistiklere dayanarak yöneticiler için kısa, maddeli bir 'Yönetici Özeti' raporu oluştur.\n"
+                        + "\n"
+                        + "Veriler: {stats}\n"
+                        + "\n"
+                        + "Kurallar:\n"
+                        + "1. Dili TÜRKÇE kullan.\n"
+                        + "2. Resmi bir dil kullan.\n"
+                        + "3. Olumlu/Olumsuz trendleri yorumla (eğer veri azsa genel durumu özetle).\n"
+                        + "4. Maksimum 3-4 madde olsun.\n");
+
+        register(env, JOB_DESCRIPTION_FROM_TITLE, 200,
+                "Sen uzman bir İK (İnsan Kaynakları) danışmanısın. Aşağıdaki iş başlığı için profesyonel, çekici ve detaylı bir iş ilanı açıklaması yaz.\n"
+                        + "\n"
+                        + "İş Başlığı: {title}\n"
+                        + "\n"
+                        + "Kurallar:\n"
+                        + "1. Dili TÜRKÇE kullan.\n"
+                        + "2. İlan yapısı şöyle olsun: Genel Özet, Sorumluluklar (madde madde), Aranan Nitelikler (madde madde).\n"
+                        + "3. Samimi ama profesyonel bir ton kullan.\n"
+                        + "4. Maksimum 150-200 kelime olsun.\n"
+                        + "5. Markdown formatı kullanma, sadece düz metin ve tireli liste kullan.\n");
+
+        register(env, JOB_DESCRIPTION_REFINE, 1000,
+                "Sen uzman bir İK editörüsün. Aşağıdaki iş ilanı taslağını düzenle, genişlet ve daha profesyonel hale getir.\n"
+                        + "\n"
+                        + "İş Başlığı: {title}\n"
+                        + "Kullanıcı Taslağı: {draft}\n"
+                        + "\n"
+                        + "Kurallar:\n"
+                        + "1. Dili TÜRKÇE kullan.\n"
+                        + "2. Eksik kısımları (örneğin sorumluluklar eksikse) mantıklı şekilde tamamla.\n"
+                        + "3. Yazım hatalarını düzelt ve akıcı bir dil kullan.\n"
+                        + "4. Sadece ilan metnini döndür.\n");
+    }
+
+    public String render(String name, Map<String, String> inputs) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown prompt template: " + name);
+        }
+
+        Map<String, String> budgeted = applyBudget(inputs, entry.budgetChars);
+        if (budgeted != inputs) {
+            entry.stats.truncated.incrementAndGet();
+        }
+        String prompt = entry.template.render(budgeted);
+
+        entry.stats.calls.incrementAndGet();
+        entry.stats.promptChars.addAndGet(prompt.length());
+        entry.stats.maxPromptChars.accumulateAndGet(prompt.length(), Math::max);
+        return prompt;
+    }
+
+    public void recordLatency(String name, long nanos, boolean success) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return;
+        }
+        entry.stats.latencyNanos.addAndGet(nanos);
+        entry.stats.maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+        if (!success) {
+            entry.stats.errors.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        entries.keySet().stream().sorted().forEach(name -> {
+            Entry entry = entries.get(name);
+            Stats s = entry.stats;
+            long calls = s.calls.get();
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("calls", calls);
+            m.put("errors", s.errors.get());
+            m.put("truncated", s.truncated.get());
+            m.put("budgetTokens", entry.budgetChars / CHARS_PER_TOKEN);
+            m.put("avgPromptChars", calls == 0 ? 0 : s.promptChars.get() / calls);
+            m.put("maxPromptChars", s.maxPromptChars.get());
+            m.put("avgLatencyMs", calls == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(s.latencyNanos.get() / calls));
+            m.put("maxLatencyMs", TimeUnit.NANOSECONDS.toMillis(s.maxLatencyNanos.get()));
+            result.put(name, m);
+        });
+        return result;
+    }
+
+    private void register(Environment env, String name, int defaultBudgetTokens, String template) {
+        int budgetTokens = env.getProperty("ai.prompt.budget." + name, Integer.class, defaultBudgetTokens);
+        entries.put(name, new Entry(PromptTemplate.compile(name, template), budgetTokens * CHARS_PER_TOKEN));
+    }
+
+    // Fair share: small inputs are kept whole, the remaining budget is split
+    // evenly between the larger ones. Returns the same map when nothing was cut.
+    static Map<String, String> applyBudget(Map<String, String> inputs, int budgetChars) {
+        int total = 0;
+        for (String value : inputs.values()) {
+            total += value != null ? value.length() : 0;
+        }
+        if (total <= budgetChars) {
+            return inputs;
+        }
+
+        List<Map.Entry<String, String>> sorted = new ArrayList<>(inputs.entrySet());
+        sorted.sort(Comparator.comparingInt(e -> e.getValue() != null ? e.getValue().length() : 0));
+
+        Map<String, String> result = new HashMap<>();
+        int remaining = budgetChars;
+        int left = sorted.size();
+        for (Map.Entry<String, String> e : sorted) {
+            String value = e.getValue();
+            int share = remaining / left--;
+            if (value != null && value.length() > share) {
+                value = truncate(value, share);
+            }
+            result.put(e.getKey(), value);
+            remaining -= value != null ? value.length() : 0;
+        }
+        return result;
+    }
+
+    // Keeps the head (usually the intent) and the tail (usually the latest detail),
+    // cutting on whitespace so words are not split.
+    static String truncate(String text, int maxChars) {
+        if (text.length() <= maxChars) {
+            return text;
+        }
+        int room = maxChars - TRUNCATION_MARKER.length();
+        if (room <= 0) {
+            return text.substring(0, Math.max(0, maxChars));
+        }
+
+        int headEnd = room * 2 / 3;
+        int tailStart = text.length() - (room - headEnd);
+
+        int space = text.lastIndexOf(' ', headEnd);
+        if (space > headEnd / 2) {
+            headEnd = space;
+        }
+        space = text.indexOf(' ', tailStart);
+        if (space > 0 && space < tailStart + (room - headEnd) / 2) {
+            tailStart = space + 1;
+        }
+
+        return text.substring(0, headEnd) + TRUNCATION_MARKER + text.substring(tailStart);
+    }
+
+    private static class Entry {
+        private final PromptTemplate template;
+        private final int budgetChars;
+        private final Stats stats = new Stats();
+
+        private Entry(PromptTemplate template, int budgetChars) {
+            this.template = template;
+            this.budgetChars = budgetChars;
+        }
+    }
+
+    private static class Stats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong truncated = new AtomicLong();
+        private final AtomicLong promptChars = new AtomicLong();
+        private final AtomicLong maxPromptChars = new AtomicLong();
+        private final AtomicLong latencyNanos = new AtomicLong();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+    }
+}
@@ -0,0 +1,72 @@
+package com.jobpazar.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A prompt text with {placeholder} slots, split into literal segments once at
+ * startup so rendering is a single pre-sized StringBuilder pass.
+ */
+public class PromptTemplate {
+
+    private final String name;
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private PromptTemplate(String name, String[] literals, String[] slots) {
+        this.name = name;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String name, String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int pos = 0;
+        while (true) {
+            int open = template.indexOf('{', pos);
+            int close = open < 0 ? -1 : template.indexOf('}', open);
+            if (open < 0 || close < 0) {
+                literals.add(template.substring(pos));
+                break;
+            }
+            literals.add(template.substring(pos, open));
+            slots.add(template.substring(open + 1, close));
+            pos = close + 1;
+        }
+
+        return new PromptTemplate(name, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    public String render(Map<String, String> values) {
+        int length = literalLength;
+        for (String slot : slots) {
+            String value = values.get(slot);
+            length += value != null ? value.length() : 4;
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            sb.append(values.get(slots[i]));
+        }
+        sb.append(literals[literals.length - 1]);
+        return sb.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String[] getSlots() {
+        return slots.clone();
+    }
+}
@@ -1,13 +1,14 @@
 package com.jobpazar.backend.service;
 
+import com.jobpazar.backend.config.ReplicaRead;
 import com.jobpazar.backend.entity.Job;
 import com.jobpazar.backend.entity.JobStatus;
 import com.jobpazar.backend.entity.Proposal;
 import com.jobpazar.backend.entity.ProposalStatus;
-import com.jobpazar.backend.entity.User;
 import com.jobpazar.backend.repository.JobRepository;
 import com.jobpazar.backend.repository.ProposalRepository;
 import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,9 +38,6 @@ public class ProposalService {
             throw new RuntimeException("Job is not open for proposals");
         }
 
-        User freelancer = userRepository.findById(freelancerId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         if (!isPriceWithinBudget(proposal.getPrice(), job.getBudget())) {
             throw new RuntimeException("Teklifiniz, ilan sahibinin belirlediği bütçe aralığına uygun değil.");
         }
@@ -57,20 +55,23 @@ public class ProposalService {
         }
 
         proposal.setJob(job);
-        proposal.setFreelancer(freelancer);
+        proposal.setFreelancer(userRepository.getActingUser(freelancerId));
         proposal.setStatus(ProposalStatus.PENDING);
 
         return proposalRepository.save(proposal);
     }
 
+    @ReplicaRead
     public List<Proposal> getProposalsForJob(Long jobId) {
         return proposalRepository.findAllByJobId(jobId);
     }
 
+    @ReplicaRead
     public List<Proposal> getProposalsForFreelancer(Long freelancerId) {
         return proposalRepository.findAllByFreelancerId(freelancerId);
     }
 
+    @ReplicaRead
     public java.util.Optional<Proposal> getProposalByJobAndFreelancer(Long jobId, Long freelancerId) {
         List<Proposal> list = proposalRepository.findByJobIdAndFreelancerId(jobId, freelancerId);
         return list.isEmpty() ? java.util.Optional.empty() : java.util.Optional.of(list.get(0));
@@ -80,6 +81,7 @@ public class ProposalService {
     public void acceptProposal(Long proposalId) {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new RuntimeException("Proposal not found"));
+        AuthenticatedUser.checkOwner(proposal.getJob().getEmployer().getId());
 
         Job job = proposal.getJob();
 
@@ -92,12 +94,11 @@ public class ProposalService {
         job.setStartedAt(java.time.LocalDateTime.now());
         jobRepository.save(job);
 
-        // 3. Reject other proposals
+        // 3. Reject other proposals (flushed together at commit as one JDBC batch)
         List<Proposal> otherProposals = proposalRepository.findAllByJobId(job.getId());
         for (Proposal p : otherProposals) {
             if (!p.getId().equals(proposalId)) {
                 p.setStatus(ProposalStatus.REJECTED);
-                proposalRepository.save(p);
             }
         }
 
@@ -111,7 +112,8 @@ public class ProposalService {
         mailService.sendEmail(to, subject, body);
     }
 
-    private boolean isPriceWithinBudget(Double price, String budget) {
+    // Package-private for ProposalServiceBenchmark (src/jmh)
+    static boolean isPriceWithinBudget(Double price, String budget) {
         if (price == null || budget == null)
             return true;
 
@@ -141,6 +143,7 @@ public class ProposalService {
     public void rejectProposal(Long proposalId) {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new RuntimeException("Proposal not found"));
+        AuthenticatedUser.checkOwner(proposal.getJob().getEmployer().getId());
 
         proposal.setStatus(ProposalStatus.REJECTED);
         proposalRepository.save(proposal);
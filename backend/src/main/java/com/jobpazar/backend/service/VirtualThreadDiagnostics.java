@@ -0,0 +1,122 @@
+package com.jobpazar.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports where virtual threads get pinned to their carrier thread.
+ * <p>
+ * On Java 21 a virtual thread that blocks inside a synchronized block (or in
+ * native code) keeps its carrier busy, which quietly brings back the thread-pool
+ * limit that virtual threads are meant to remove. When enabled, a JFR stream
+ * listens for jdk.VirtualThreadPinned events above a threshold and counts them by
+ * the first application frame (or the top frame when no application code is on the
+ * stack, e.g. inside the JDBC driver). For ad-hoc runs, -Djdk.tracePinnedThreads=short
+ * prints the same information to stdout.
+ */
+@Component
+public class VirtualThreadDiagnostics {
+
+    private static final String APP_PACKAGE = "com.jobpazar.";
+    private static final int MAX_SITES = 200;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${runtime.pinning-diagnostics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${runtime.pinning-diagnostics.threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream stream;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private final Map<String, AtomicLong> bySite = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        System.out.println("Virtual thread pinning diagnostics started (threshold " + thresholdMs + " ms)");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Map<String, Object> getReport() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("virtualThreads", virtualThreads);
+        result.put("pinningDiagnostics", enabled);
+        result.put("thresholdMs", thresholdMs);
+        result.put("pinnedEvents", pinnedEvents.get());
+        result.put("pinnedMs", pinnedNanos.get() / 1_000_000);
+
+        Map<String, Long> sites = new LinkedHashMap<>();
+        bySite.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                .limit(20)
+                .forEach(e -> sites.put(e.getKey(), e.getValue().get()));
+        result.put("topSites", sites);
+        return result;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+
+        String site = site(event.getStackTrace());
+        AtomicLong count = bySite.get(site);
+        if (count == null) {
+            if (bySite.size() >= MAX_SITES) {
+                site = "other";
+            } else {
+                System.err.println("Virtual thread pinned for " + event.getDuration().toMillis() + " ms at " + site);
+            }
+            count = bySite.computeIfAbsent(site, k -> new AtomicLong());
+        }
+        count.incrementAndGet();
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return format(frames.get(0));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,69 @@
+-- Schema as it was created by Hibernate (ddl-auto=update) before versioned migrations.
+-- Databases that already have these tables are baselined at version 1 and skip this file
+-- (spring.flyway.baseline-on-migrate), so it must not contain anything added since; new
+-- columns and tables go into a later migration. Keep the SQL valid for MySQL and H2 (MODE=MySQL).
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    bio VARCHAR(5000),
+    requested_role VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+-- jobs.status was converted to VARCHAR by the old DatabaseFixer on every boot
+CREATE TABLE jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    description VARCHAR(2000),
+    budget VARCHAR(255),
+    category VARCHAR(255),
+    duration INT,
+    status VARCHAR(50),
+    employer_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    started_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_jobs_employer FOREIGN KEY (employer_id) REFERENCES users (id)
+);
+
+CREATE TABLE proposals (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cover_letter VARCHAR(2000),
+    delivery_message VARCHAR(5000),
+    delivery_file_url VARCHAR(255),
+    price DOUBLE,
+    days_to_deliver INT,
+    status ENUM('PENDING', 'ACCEPTED', 'REJECTED'),
+    freelancer_id BIGINT NOT NULL,
+    job_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_proposals_freelancer FOREIGN KEY (freelancer_id) REFERENCES users (id),
+    CONSTRAINT fk_proposals_job FOREIGN KEY (job_id) REFERENCES jobs (id)
+);
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    message VARCHAR(255),
+    user_id BIGINT,
+    is_read BIT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE feedbacks (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    message VARCHAR(255),
+    user_id BIGINT,
+    replied BIT NOT NULL,
+    created_at DATETIME(6),
+    reply TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_feedbacks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
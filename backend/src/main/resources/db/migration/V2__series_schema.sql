@@ -0,0 +1,50 @@
+-- Columns and tables added after the ddl-auto era, applied to baselined databases as well.
+
+-- Normalized identity columns (filled for existing rows by IdentityAvailabilityService on
+-- startup) and the soft-delete flag of accounts waiting to be purged
+ALTER TABLE users ADD COLUMN username_normalized VARCHAR(255);
+ALTER TABLE users ADD COLUMN email_normalized VARCHAR(255);
+ALTER TABLE users ADD COLUMN deleted BIT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN deleted_at DATETIME(6);
+ALTER TABLE users ADD CONSTRAINT uk_users_username_normalized UNIQUE (username_normalized);
+ALTER TABLE users ADD CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized);
+
+CREATE INDEX idx_users_email ON users (email);
+CREATE INDEX idx_users_role ON users (role);
+CREATE INDEX idx_users_requested_role ON users (requested_role);
+
+-- Completion time for the analytics rollup; the day indexes serve its per-day counts
+ALTER TABLE jobs ADD COLUMN completed_at DATETIME(6);
+
+CREATE INDEX idx_jobs_created_at ON jobs (created_at);
+CREATE INDEX idx_jobs_started_at ON jobs (started_at);
+CREATE INDEX idx_jobs_completed_at ON jobs (completed_at);
+CREATE INDEX idx_proposals_created_at ON proposals (created_at);
+
+CREATE TABLE ai_tasks (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    batch_id VARCHAR(255) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    target_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    attempts INT NOT NULL,
+    result TEXT,
+    error VARCHAR(1000),
+    created_at DATETIME(6),
+    completed_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_ai_tasks_status ON ai_tasks (status, id);
+CREATE INDEX idx_ai_tasks_batch ON ai_tasks (batch_id);
+
+CREATE TABLE daily_market_stats (
+    stat_date DATE NOT NULL,
+    jobs_created BIGINT NOT NULL,
+    proposals_submitted BIGINT NOT NULL,
+    jobs_started BIGINT NOT NULL,
+    jobs_completed BIGINT NOT NULL,
+    median_time_to_start_minutes BIGINT,
+    updated_at DATETIME(6),
+    PRIMARY KEY (stat_date)
+);
@@ -0,0 +1,21 @@
+-- Databases created by ddl-auto have a MySQL ENUM proposals.status column (jobs.status was
+-- changed to VARCHAR by the old DatabaseFixer on every boot). Convert both once; adding a
+-- value to an ENUM would otherwise need another migration.
+ALTER TABLE jobs MODIFY COLUMN status VARCHAR(50);
+ALTER TABLE proposals MODIFY COLUMN status VARCHAR(50);
+
+-- Indexes for the queries the API actually runs.
+-- On MySQL these replace the implicit foreign key indexes (dropped automatically once an
+-- explicit index can enforce the constraint) and are built online, without locking writes.
+
+-- Open-job feed and AI batch selection (WHERE status = ?); created_at serves newest-first paging
+CREATE INDEX idx_jobs_status_created_at ON jobs (status, created_at);
+-- Employer dashboard: jobs of one employer
+CREATE INDEX idx_jobs_employer ON jobs (employer_id);
+
+-- Proposals of a job (employer) and of a freelancer
+CREATE INDEX idx_proposals_job ON proposals (job_id);
+CREATE INDEX idx_proposals_freelancer ON proposals (freelancer_id);
+
+-- All / unread notifications of a user, newest first
+CREATE INDEX idx_notifications_user_read_created ON notifications (user_id, is_read, created_at);
@@ -0,0 +1,16 @@
+-- Stored outcomes of POST requests sent with an Idempotency-Key header (see IdempotencyService).
+-- idempotency_key is "<user or anonymous>:<method> <path>:<client key>"; the primary key makes the
+-- first request's claim atomic across nodes.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INT,
+    response_content_type VARCHAR(255),
+    response_body MEDIUMBLOB,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
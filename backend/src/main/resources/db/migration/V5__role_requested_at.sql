@@ -0,0 +1,7 @@
+-- When a role request was made, so the admin queue is served oldest request first.
+-- Requests pending before this column existed get the migration time; their order among
+-- themselves falls back to the user id.
+ALTER TABLE users ADD COLUMN role_requested_at DATETIME(6);
+UPDATE users SET role_requested_at = CURRENT_TIMESTAMP WHERE requested_role IS NOT NULL;
+
+CREATE INDEX idx_users_role_requested_at ON users (role_requested_at);
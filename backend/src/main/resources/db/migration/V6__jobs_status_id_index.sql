@@ -0,0 +1,6 @@
+-- The open-job feed pages by id (WHERE status = ? AND id > ? ORDER BY id), not by creation
+-- time, so the (status, created_at) index from V3 could only narrow the status and left the
+-- id range and order to a filesort. (status, id) serves the feed seek and order and still
+-- covers the AI batch selection (WHERE status = ?).
+CREATE INDEX idx_jobs_status_id ON jobs (status, id);
+DROP INDEX idx_jobs_status_created_at ON jobs;
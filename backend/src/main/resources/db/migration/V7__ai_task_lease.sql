@@ -0,0 +1,7 @@
+-- Claim lease for AI tasks. A worker claims PENDING rows with a conditional UPDATE that stamps
+-- its claim_token and claimed_at; a RUNNING row whose claimed_at is older than ai.tasks.lease-ms
+-- belongs to a worker that died and is put back to PENDING by any node.
+ALTER TABLE ai_tasks ADD COLUMN claimed_at DATETIME(6);
+ALTER TABLE ai_tasks ADD COLUMN claim_token VARCHAR(36);
+
+CREATE INDEX idx_ai_tasks_claim_token ON ai_tasks (claim_token);
@@ -0,0 +1,277 @@
+package com.jobpazar.backend;
+
+import com.jobpazar.backend.dto.UserSummary;
+import com.jobpazar.backend.entity.AiTask;
+import com.jobpazar.backend.entity.AiTaskStatus;
+import com.jobpazar.backend.entity.AiTaskType;
+import com.jobpazar.backend.entity.DailyMarketStats;
+import com.jobpazar.backend.entity.Feedback;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.Notification;
+import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.entity.ProposalStatus;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.AiTaskRepository;
+import com.jobpazar.backend.repository.DailyMarketStatsRepository;
+import com.jobpazar.backend.repository.FeedbackRepository;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.NotificationRepository;
+import com.jobpazar.backend.repository.ProposalRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds the schema from the Flyway migrations only (Hibernate creates nothing) and checks
+ * that the query indexes exist and that every entity can be written and read back, i.e.
+ * the migrations and the entity mappings agree on table and column names. A database left
+ * behind by the old ddl-auto=update is simulated by running V1 by hand and letting Flyway
+ * baseline it, as it does on startup.
+ * Type-level validation (ddl-auto=validate) runs against MySQL at application startup.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.password.bcrypt-strength=4",
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private AiTaskRepository aiTaskRepository;
+
+    @Autowired
+    private DailyMarketStatsRepository dailyMarketStatsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void allMigrationsAreApplied() {
+        List<String> versions = Arrays.stream(flyway.info().applied())
+                .filter(migration -> migration.getState().isApplied() && !migration.getState().isFailed())
+                .map(migration -> migration.getVersion().getVersion())
+                .toList();
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7"), versions);
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void preMigrationDatabaseIsBaselinedAndUpgraded() throws Exception {
+        DataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = legacy.getConnection(); Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+            statement.execute("INSERT INTO users (username, password, email, role) "
+                    + "VALUES ('eski_kullanici', 'x', 'eski@example.com', 'FREELANCER')");
+        }
+
+        Flyway.configure()
+                .dataSource(legacy)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        try (Connection connection = legacy.getConnection(); Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT username_normalized, deleted FROM users")) {
+            assertTrue(rs.next());
+            assertNull(rs.getString("username_normalized"));
+            assertFalse(rs.getBoolean("deleted"));
+        }
+        assertEquals(List.of("status", "id"), indexColumns(legacy, "ai_tasks", "idx_ai_tasks_status"));
+        assertEquals(List.of("completed_at"), indexColumns(legacy, "jobs", "idx_jobs_completed_at"));
+        assertEquals(List.of("job_id"), indexColumns(legacy, "proposals", "idx_proposals_job"));
+    }
+
+    @Test
+    void queryIndexesExist() throws Exception {
+        assertEquals(List.of("status", "id"), indexColumns("jobs", "idx_jobs_status_id"));
+        assertEquals(List.of("employer_id"), indexColumns("jobs", "idx_jobs_employer"));
+        assertEquals(List.of("job_id"), indexColumns("proposals", "idx_proposals_job"));
+        assertEquals(List.of("freelancer_id"), indexColumns("proposals", "idx_proposals_freelancer"));
+        assertEquals(List.of("user_id", "is_read", "created_at"),
+                indexColumns("notifications", "idx_notifications_user_read_created"));
+    }
+
+    @Test
+    void aiTaskClaimsAreExclusiveAndExpire() {
+        AiTask task = new AiTask();
+        task.setBatchId("claim-test");
+        task.setType(AiTaskType.FEEDBACK_TRIAGE);
+        task.setTargetId(1L);
+        Long id = aiTaskRepository.save(task).getId();
+        LocalDateTime claimedAt = LocalDateTime.now().minusHours(1);
+
+        int first = transactionTemplate.execute(status -> aiTaskRepository.claim(List.of(id), "node-a", claimedAt,
+                AiTaskStatus.PENDING, AiTaskStatus.RUNNING));
+        int second = transactionTemplate.execute(status -> aiTaskRepository.claim(List.of(id), "node-b", claimedAt,
+                AiTaskStatus.PENDING, AiTaskStatus.RUNNING));
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(List.of(id), aiTaskRepository.findByClaimToken("node-a").stream().map(AiTask::getId).toList());
+
+        // A claim younger than the lease stays; an older one goes back to PENDING
+        transactionTemplate.execute(status -> aiTaskRepository.releaseExpired(claimedAt.minusMinutes(1),
+                AiTaskStatus.RUNNING, AiTaskStatus.PENDING));
+        assertEquals(AiTaskStatus.RUNNING, aiTaskRepository.findById(id).orElseThrow().getStatus());
+        transactionTemplate.execute(status -> aiTaskRepository.releaseExpired(claimedAt.plusMinutes(1),
+                AiTaskStatus.RUNNING, AiTaskStatus.PENDING));
+        assertEquals(AiTaskStatus.PENDING, aiTaskRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void entitiesRoundTripOnMigratedSchema() {
+        User employer = user("migration_employer", "EMPLOYER");
+        User freelancer = user("migration_freelancer", "FREELANCER");
+
+        Job job = new Job();
+        job.setTitle("Logo tasarımı");
+        job.setDescription("Yeni marka için logo");
+        job.setBudget("Low");
+        job.setCategory("Grafik Tasarım");
+        job.setDuration(7);
+        job.setStatus(JobStatus.IN_PROGRESS);
+        job.setStartedAt(LocalDateTime.now());
+        job.setEmployer(employer);
+        job = jobRepository.save(job);
+
+        Proposal proposal = new Proposal();
+        proposal.setJob(job);
+        proposal.setFreelancer(freelancer);
+        proposal.setPrice(750.0);
+        proposal.setDaysToDeliver(5);
+        proposal.setCoverLetter("Hemen başlayabilirim.");
+        proposal.setStatus(ProposalStatus.ACCEPTED);
+        proposalRepository.save(proposal);
+
+        notificationRepository.save(new Notification("Teklifiniz kabul edildi.", freelancer));
+
+        Feedback feedback = new Feedback();
+        feedback.setMessage("Harika uygulama");
+        feedback.setUser(freelancer);
+        feedback.setCreatedAt(LocalDateTime.now());
+        feedback.setReply("Teşekkürler!");
+        feedbackRepository.save(feedback);
+
+        AiTask task = new AiTask();
+        task.setBatchId("migration-test");
+        task.setType(AiTaskType.JOB_DESCRIPTION);
+        task.setTargetId(job.getId());
+        aiTaskRepository.save(task);
+
+        DailyMarketStats stats = new DailyMarketStats();
+        stats.setStatDate(LocalDate.now());
+        stats.setJobsCreated(1);
+        dailyMarketStatsRepository.save(stats);
+
+        assertEquals(JobStatus.IN_PROGRESS, jobRepository.findById(job.getId()).orElseThrow().getStatus());
+        assertEquals(1, jobRepository.findAllByEmployerId(employer.getId()).size());
+        assertEquals(ProposalStatus.ACCEPTED,
+                proposalRepository.findAllByJobId(job.getId()).get(0).getStatus());
+        assertEquals(1, notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(freelancer.getId()).size());
+        assertTrue(feedbackRepository.findAll().stream().anyMatch(f -> "Teşekkürler!".equals(f.getReply())));
+        assertEquals(1, aiTaskRepository.findAll().stream().filter(t -> "migration-test".equals(t.getBatchId())).count());
+        assertEquals(1, dailyMarketStatsRepository.findById(LocalDate.now()).orElseThrow().getJobsCreated());
+    }
+
+    @Test
+    void roleRequestQueueFollowsRequestTime() throws Exception {
+        User first = user("queue_first", "FREELANCER");
+        User second = user("queue_second", "FREELANCER");
+        second.setRequestedRole("EMPLOYER");
+        userRepository.save(second);
+        Thread.sleep(5);
+        first.setRequestedRole("EMPLOYER");
+        userRepository.save(first);
+
+        List<String> queue = userRepository.searchSummaries(null, true, null,
+                        PageRequest.of(0, 100, Sort.by("roleRequestedAt", "id")))
+                .stream()
+                .map(UserSummary::username)
+                .filter(username -> username.startsWith("queue_"))
+                .toList();
+
+        assertEquals(List.of("queue_second", "queue_first"), queue);
+    }
+
+    private User user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("not-a-real-hash");
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private List<String> indexColumns(String table, String index) throws Exception {
+        return indexColumns(dataSource, table, index);
+    }
+
+    private static List<String> indexColumns(DataSource dataSource, String table, String index) throws Exception {
+        Map<Integer, String> columns = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection();
+                ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    columns.put(rs.getInt("ORDINAL_POSITION"), rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+        }
+        return new ArrayList<>(columns.values());
+    }
+}
@@ -0,0 +1,83 @@
+package com.jobpazar.backend;
+
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.service.EntityCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application with the second-level cache configured as in production
+ * (Caffeine JCache regions from caffeine-jcache.conf) and checks that User and Job
+ * reads are served from their declared regions.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.password.bcrypt-strength=4",
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Test
+    void usersAndJobsAreCachedInTheirRegions() {
+        User employer = new User();
+        employer.setUsername("cache-" + UUID.randomUUID());
+        employer.setPassword("not-a-real-hash");
+        employer.setEmail(employer.getUsername() + "@example.com");
+        employer.setRole("EMPLOYER");
+        employer = userRepository.save(employer);
+
+        Job job = new Job();
+        job.setTitle("Cached job");
+        job.setDescription("Second-level cache check");
+        job.setBudget("100");
+        job.setStatus(JobStatus.OPEN);
+        job.setEmployer(employer);
+        job = jobRepository.save(job);
+
+        entityManagerFactory.getCache().evictAll();
+        userRepository.findById(employer.getId());
+        jobRepository.findById(job.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(User.class, employer.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Job.class, job.getId()));
+
+        entityCacheService.evictUser(employer.getId());
+        assertFalse(entityManagerFactory.getCache().contains(User.class, employer.getId()));
+
+        Map<String, Object> stats = entityCacheService.getStats();
+        assertEquals("user", ((Map<?, ?>) stats.get("user")).get("region"));
+        assertEquals("job", ((Map<?, ?>) stats.get("job")).get("region"));
+    }
+}
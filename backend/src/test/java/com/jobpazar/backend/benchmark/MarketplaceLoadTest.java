@@ -0,0 +1,366 @@
+package com.jobpazar.backend.benchmark;
+
+import com.jobpazar.backend.JobPazarBackendApplication;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the marketplace flows against the full application.
+ * <p>
+ * Gemini and the mail-service are replaced by local {@link StandInServer}s with a
+ * configurable delay, and the database is an in-memory H2 unless a local one is given,
+ * so the run needs no network. A fixed number of virtual users each loop over a
+ * weighted mix of:
+ * <ul>
+ * <li>browsing: GET /api/jobs, GET /api/jobs/{id}</li>
+ * <li>bidding: POST /api/proposals/{jobId}, GET /api/proposals/my-proposals</li>
+ * <li>notification polling: GET /api/notifications/{userId}</li>
+ * <li>a hire cycle: post a job, receive a proposal, accept, deliver, approve</li>
+ * <li>AI help: POST /api/ai/generate-proposal</li>
+ * </ul>
+ * Prints count, throughput, p50/p99/max latency and errors per endpoint, and writes the
+ * same table to target/load-test-report.txt. The run fails if more than 1% of the
+ * requests failed.
+ * <p>
+ * Not part of the normal test run. Run with:
+ * <pre>
+ * ./mvnw test -Dgroups=benchmark -Dtest.excludedGroups= -Dtest=MarketplaceLoadTest
+ * </pre>
+ * Options (system properties, pass through surefire with -DargLine="-D..." or directly):
+ * loadtest.users (50), loadtest.seconds (60), loadtest.warmup-seconds (10),
+ * loadtest.gemini-latency-ms (300), loadtest.mail-latency-ms (50), loadtest.jobs (200),
+ * loadtest.freelancers (200), loadtest.employers (20), loadtest.virtual-threads (false),
+ * loadtest.db.url / loadtest.db.username / loadtest.db.password for a local MySQL
+ * (the schema is updated, not dropped).
+ */
+@Tag("benchmark")
+class MarketplaceLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final long GEMINI_LATENCY_MS = Long.getLong("loadtest.gemini-latency-ms", 300);
+    private static final long MAIL_LATENCY_MS = Long.getLong("loadtest.mail-latency-ms", 50);
+    private static final int SEEDED_JOBS = Integer.getInteger("loadtest.jobs", 200);
+    private static final int SEEDED_FREELANCERS = Integer.getInteger("loadtest.freelancers", 200);
+    private static final int SEEDED_EMPLOYERS = Integer.getInteger("loadtest.employers", 20);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtual-threads");
+    private static final String DB_URL = System.getProperty("loadtest.db.url");
+
+    private static final String JOB_JSON = "{\"title\":\"Yük testi ilanı\",\"description\":\"Sipariş takip "
+            + "uygulaması için mobil geliştirici\",\"budget\":\"Medium\",\"category\":\"Software\",\"duration\":14}";
+    private static final String PROPOSAL_JSON = "{\"price\":10000,\"coverLetter\":\"Benzer projelerde "
+            + "tecrübem var, iki haftada teslim ederim.\",\"daysToDeliver\":14}";
+    private static final String DELIVERY_JSON = "{\"message\":\"Teslim edildi\",\"fileUrl\":\"https://example.com/is.zip\"}";
+    private static final String AI_JSON = "{\"jobDescription\":\"Mobil uygulama geliştirme\","
+            + "\"userDraft\":\"5 yıllık React Native tecrübesi\"}";
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private HttpClient client;
+    private String baseUrl;
+    private long[] employerIds;
+    private long[] freelancerIds;
+    private long[] jobIds;
+    private volatile long recordFrom;
+
+    @Test
+    void marketplaceTraffic() throws Exception {
+        try (StandInServer gemini = StandInServer.gemini(GEMINI_LATENCY_MS);
+                StandInServer mail = StandInServer.mail(MAIL_LATENCY_MS);
+                ConfigurableApplicationContext context = start(gemini, mail)) {
+            seed(context);
+            baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            long start = System.nanoTime();
+            recordFrom = start + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+            long end = recordFrom + Duration.ofSeconds(SECONDS).toNanos();
+            try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < USERS; i++) {
+                    users.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            nextAction();
+                        }
+                    });
+                }
+            }
+
+            String report = report(gemini.getRequests(), mail.getRequests());
+            System.out.println(report);
+            Files.createDirectories(Path.of("target"));
+            Files.writeString(Path.of("target", "load-test-report.txt"), report);
+
+            long total = stats.values().stream().mapToLong(Stats::total).sum();
+            long errors = stats.values().stream().mapToLong(s -> s.errors).sum();
+            assertTrue(total > 0, "no requests were recorded");
+            assertTrue(errors * 100 <= total, errors + " of " + total + " requests failed");
+        }
+    }
+
+    private void nextAction() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 45) {
+            browse();
+        } else if (roll < 65) {
+            bid();
+        } else if (roll < 85) {
+            pollNotifications();
+        } else if (roll < 95) {
+            hireCycle();
+        } else {
+            call("POST /api/ai/generate-proposal", post("/api/ai/generate-proposal", AI_JSON));
+        }
+    }
+
+    private void browse() {
+        call("GET /api/jobs", get("/api/jobs"));
+        call("GET /api/jobs/{id}", get("/api/jobs/" + pick(jobIds)));
+    }
+
+    private void bid() {
+        long freelancerId = pick(freelancerIds);
+        call("POST /api/proposals/{jobId}",
+                post("/api/proposals/" + pick(jobIds) + "?freelancerId=" + freelancerId, PROPOSAL_JSON));
+        call("GET /api/proposals/my-proposals", get("/api/proposals/my-proposals?freelancerId=" + freelancerId));
+    }
+
+    private void pollNotifications() {
+        long userId = ThreadLocalRandom.current().nextBoolean() ? pick(employerIds) : pick(freelancerIds);
+        call("GET /api/notifications/{userId}", get("/api/notifications/" + userId));
+    }
+
+    // The full job lifecycle; stops at the first failed step
+    private void hireCycle() {
+        String job = call("POST /api/jobs", post("/api/jobs?employerId=" + pick(employerIds), JOB_JSON));
+        if (job == null) {
+            return;
+        }
+        long jobId = id(job);
+        String proposal = call("POST /api/proposals/{jobId}",
+                post("/api/proposals/" + jobId + "?freelancerId=" + pick(freelancerIds), PROPOSAL_JSON));
+        if (proposal == null) {
+            return;
+        }
+        long proposalId = id(proposal);
+        if (call("PUT /api/proposals/{id}/accept", put("/api/proposals/" + proposalId + "/accept")) == null
+                || call("POST /api/jobs/deliver/{proposalId}",
+                        post("/api/jobs/deliver/" + proposalId, DELIVERY_JSON)) == null) {
+            return;
+        }
+        call("POST /api/jobs/approve/{jobId}", post("/api/jobs/approve/" + jobId, ""));
+    }
+
+    // Returns the response body, or null when the request failed
+    private String call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        String body = null;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() < 300) {
+                body = response.body();
+            }
+        } catch (IOException e) {
+            // counted as an error below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long finished = System.nanoTime();
+
+        if (start >= recordFrom) {
+            Stats s = stats.computeIfAbsent(endpoint, k -> new Stats());
+            if (body != null) {
+                s.record(finished - start);
+            } else {
+                s.error();
+            }
+        }
+        return body;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path) {
+        return request(path).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private long id(String json) {
+        return mapper.readTree(json).path("id").asLong();
+    }
+
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private String report(long geminiCalls, long mailCalls) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Marketplace load test: ").append(USERS).append(" users, ").append(SECONDS).append("s, ")
+                .append(VIRTUAL_THREADS ? "virtual" : "platform").append(" threads, gemini ")
+                .append(GEMINI_LATENCY_MS).append(" ms, mail ").append(MAIL_LATENCY_MS).append(" ms ===\n");
+        sb.append(String.format("%-36s %8s %10s %8s %8s %8s %7s%n",
+                "Endpoint", "count", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            long errors = entry.getValue().errors;
+            if (sorted.length == 0) {
+                sb.append(String.format("%-36s %8d %10s %8s %8s %8s %7d%n", entry.getKey(), 0, "-", "-", "-", "-",
+                        errors));
+                continue;
+            }
+            sb.append(String.format("%-36s %8d %10.1f %8.1f %8.1f %8.1f %7d%n",
+                    entry.getKey(),
+                    sorted.length,
+                    (double) sorted.length / SECONDS,
+                    sorted[(int) (sorted.length * 0.50)] / 1e6,
+                    sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1e6,
+                    sorted[sorted.length - 1] / 1e6,
+                    errors));
+        }
+        sb.append("Stand-in calls (including warmup): gemini=").append(geminiCalls)
+                .append(" mail=").append(mailCalls).append('\n');
+        return sb.toString();
+    }
+
+    private ConfigurableApplicationContext start(StandInServer gemini, StandInServer mail) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "management.server.port=0",
+                "spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                "spring.jpa.show-sql=false",
+                "gemini.api.key=loadtest",
+                "gemini.api.base=" + gemini.baseUrl(),
+                "gemini.limit.requests-per-minute=1000000",
+                "gemini.limit.burst=100000",
+                "gemini.limit.max-queue=100000",
+                "gemini.limit.per-client-max=100000",
+                "ratelimit.enabled=false",
+                "mail.service.url=" + mail.baseUrl()));
+        if (DB_URL != null) {
+            properties.add("spring.datasource.url=" + DB_URL);
+            properties.add("spring.datasource.username=" + System.getProperty("loadtest.db.username", "root"));
+            properties.add("spring.datasource.password=" + System.getProperty("loadtest.db.password", "root"));
+        } else {
+            properties.addAll(List.of(
+                    "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "spring.jpa.hibernate.ddl-auto=create-drop",
+                    "spring.flyway.enabled=false"));
+        }
+        // Passed as command-line arguments: builder properties are only defaults, and
+        // application.properties would win over them (pointing the run at MySQL)
+        return new SpringApplicationBuilder(JobPazarBackendApplication.class)
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserRepository users = context.getBean(UserRepository.class);
+        JobRepository jobs = context.getBean(JobRepository.class);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        List<User> employers = users.saveAll(users("lt-" + run + "-employer", "EMPLOYER", SEEDED_EMPLOYERS));
+        List<User> freelancers = users.saveAll(users("lt-" + run + "-freelancer", "FREELANCER", SEEDED_FREELANCERS));
+
+        List<Job> feed = new ArrayList<>();
+        for (int i = 0; i < SEEDED_JOBS; i++) {
+            Job job = new Job();
+            job.setTitle("Yük testi ilanı " + i);
+            job.setDescription("Load test seed");
+            job.setBudget("Medium");
+            job.setCategory(i % 3 == 0 ? "Design" : "Software");
+            job.setDuration(7);
+            job.setEmployer(employers.get(i % employers.size()));
+            feed.add(job);
+        }
+        jobs.saveAll(feed);
+
+        employerIds = employers.stream().mapToLong(User::getId).toArray();
+        freelancerIds = freelancers.stream().mapToLong(User::getId).toArray();
+        jobIds = feed.stream().mapToLong(Job::getId).toArray();
+    }
+
+    private static List<User> users(String prefix, String role, int count) {
+        List<User> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@loadtest.jobpazar.com");
+            user.setPassword("x");
+            user.setRole(role);
+            list.add(user);
+        }
+        return list;
+    }
+
+    private static final class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized void error() {
+            errors++;
+        }
+
+        synchronized long total() {
+            return count + errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.jobpazar.backend.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local replacement for an external HTTP dependency (Gemini, mail-service) that answers
+ * every request under a path with a fixed body after a fixed delay. Binds to 127.0.0.1
+ * on a free port, so load tests need no network.
+ */
+final class StandInServer implements AutoCloseable {
+
+    static final String GEMINI_RESPONSE = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"merhaba\"}]}}]}";
+
+    private final HttpServer server;
+    private final AtomicLong requests = new AtomicLong();
+
+    private StandInServer(String path, long latencyMs, String responseBody) throws IOException {
+        byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(path, exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    // Gemini generateContent / streamGenerateContent
+    static StandInServer gemini(long latencyMs) throws IOException {
+        return new StandInServer("/v1beta/models/", latencyMs, GEMINI_RESPONSE);
+    }
+
+    // mail-service POST /send-mail
+    static StandInServer mail(long latencyMs) throws IOException {
+        return new StandInServer("/send-mail", latencyMs, "{\"status\":\"ok\"}");
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,205 @@
+package com.jobpazar.backend.benchmark;
+
+import com.jobpazar.backend.JobPazarBackendApplication;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Before/after load benchmark for the virtual-thread mode.
+ * <p>
+ * Starts the application twice in this JVM (platform threads, then virtual threads) on
+ * an in-memory H2 database with a seeded job feed and a local fake Gemini with fixed
+ * latency, and drives GET /api/jobs and POST /api/ai/chat at high concurrency.
+ * Prints throughput, p50/p99 and errors for each mode.
+ * <p>
+ * Not part of the normal test run. Run with:
+ * <pre>
+ * ./mvnw test -Dgroups=benchmark -Dtest.excludedGroups= -Dtest=VirtualThreadBenchmark
+ * </pre>
+ * Set -Dbenchmark.concurrency / -Dbenchmark.seconds to change the load. Pass
+ * -Djdk.tracePinnedThreads=short (surefire argLine) to see pinning during the run.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 500);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 15);
+    private static final int WARMUP_SECONDS = 3;
+    private static final long GEMINI_LATENCY_MS = 300;
+    private static final int SEEDED_JOBS = 200;
+
+    private StandInServer fakeGemini;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fakeGemini = StandInServer.gemini(GEMINI_LATENCY_MS);
+
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fakeGemini.close();
+    }
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<String> report = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] { false, true }) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                seed(context);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String mode = virtualThreads ? "virtual " : "platform";
+
+                HttpRequest feed = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/jobs"))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                HttpRequest chat = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/ai/chat"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"message\":\"Merhaba\"}"))
+                        .build();
+
+                report.add(mode + " GET /api/jobs     " + run(feed));
+                report.add(mode + " POST /api/ai/chat " + run(chat));
+            }
+        }
+
+        System.out.println("=== Virtual thread benchmark: " + CONCURRENCY + " concurrent clients, " + SECONDS + "s ===");
+        report.forEach(System.out::println);
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        String gemini = fakeGemini.baseUrl();
+        return new SpringApplicationBuilder(JobPazarBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + virtualThreads
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "gemini.api.key=benchmark",
+                        "gemini.api.base=" + gemini,
+                        "gemini.limit.requests-per-minute=1000000",
+                        "gemini.limit.burst=100000",
+                        "gemini.limit.max-queue=100000",
+                        "gemini.limit.per-client-max=100000",
+                        "ratelimit.enabled=false")
+                .run();
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        UserRepository users = context.getBean(UserRepository.class);
+        JobRepository jobs = context.getBean(JobRepository.class);
+
+        User employer = new User();
+        employer.setUsername("bench-employer");
+        employer.setPassword("x");
+        employer.setEmail("bench@jobpazar.com");
+        employer.setRole("EMPLOYER");
+        users.save(employer);
+
+        List<Job> feed = new ArrayList<>();
+        for (int i = 0; i < SEEDED_JOBS; i++) {
+            Job job = new Job();
+            job.setTitle("Benchmark job " + i);
+            job.setDescription("Seeded for the virtual thread benchmark");
+            job.setBudget("Medium");
+            job.setCategory("Software");
+            job.setDuration(7);
+            job.setEmployer(employer);
+            feed.add(job);
+        }
+        jobs.saveAll(feed);
+    }
+
+    // Closed loop: every client sends its next request as soon as the previous one returns
+    private String run(HttpRequest request) throws Exception {
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(SECONDS).toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long finished = System.nanoTime();
+                        if (start < warmupEnd) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = finished - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = results.stream().flatMapToLong(f -> {
+            try {
+                return Arrays.stream(f.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).sorted().toArray();
+
+        if (all.length == 0) {
+            return "no successful requests, errors=" + errors.get();
+        }
+        return String.format("throughput=%.0f req/s  p50=%d ms  p99=%d ms  errors=%d",
+                (double) all.length / SECONDS,
+                all[(int) (all.length * 0.50)] / 1_000_000,
+                all[Math.min(all.length - 1, (int) (all.length * 0.99))] / 1_000_000,
+                errors.get());
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.FeedbackRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Retries of POST /api/feedbacks against the migrated schema (the keys live in the
+ * idempotency_keys table): a repeated key is answered from the store without a second
+ * row, a reused key with another body is refused, callers without a token only see their own
+ * keys, and requests without a key are untouched.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:idempotency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.password.bcrypt-strength=4",
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class IdempotencyFilterTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    private MockMvc mockMvc;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(idempotencyFilter).build();
+        User user = new User();
+        user.setUsername("idem-" + UUID.randomUUID());
+        user.setPassword("not-a-real-hash");
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setRole("FREELANCER");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void repeatedKeyReplaysFirstResponseWithoutWritingAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long before = feedbackRepository.count();
+
+        MvcResult first = send(key, feedback("Bildirimler geç geliyor"));
+        MvcResult retry = send(key, feedback("Bildirimler geç geliyor"));
+
+        assertEquals(200, first.getResponse().getStatus());
+        assertNull(first.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(200, retry.getResponse().getStatus());
+        assertEquals("true", retry.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(before + 1, feedbackRepository.count());
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long before = feedbackRepository.count();
+
+        send(key, feedback("İlk mesaj"));
+        MvcResult reused = send(key, feedback("Başka bir mesaj"));
+
+        assertEquals(422, reused.getResponse().getStatus());
+        assertEquals(before + 1, feedbackRepository.count());
+    }
+
+    @Test
+    void anonymousCallersDoNotShareKeys() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long before = feedbackRepository.count();
+
+        send(key, feedback("Aynı anahtar"), "10.0.0.1");
+        MvcResult other = send(key, feedback("Aynı anahtar"), "10.0.0.2");
+
+        assertEquals(200, other.getResponse().getStatus());
+        assertNull(other.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(before + 2, feedbackRepository.count());
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotDeduplicated() throws Exception {
+        long before = feedbackRepository.count();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/feedbacks").contentType(MediaType.APPLICATION_JSON)
+                    .content(feedback("Anahtarsız"))).andReturn();
+        }
+
+        assertEquals(before + 2, feedbackRepository.count());
+    }
+
+    private MvcResult send(String key, String body) throws Exception {
+        return send(key, body, "127.0.0.1");
+    }
+
+    private MvcResult send(String key, String body, String remoteAddr) throws Exception {
+        return mockMvc.perform(post("/api/feedbacks")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andReturn();
+    }
+
+    private String feedback(String message) {
+        return "{\"userId\":" + userId + ",\"message\":\"" + message + "\"}";
+    }
+}
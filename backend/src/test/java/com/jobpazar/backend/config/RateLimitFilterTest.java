@@ -0,0 +1,91 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bucket behaviour of RateLimitFilter with a refill too slow to matter during the test:
+ * a client gets its burst and then 429 + Retry-After, while other clients and other
+ * endpoint groups keep their own buckets.
+ */
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment env = new MockEnvironment();
+        for (String group : new String[] {"ai", "auth", "jobs-read", "write", "read"}) {
+            env.setProperty("ratelimit." + group + ".requests-per-minute", "1");
+            env.setProperty("ratelimit." + group + ".burst", "3");
+        }
+        filter = new RateLimitFilter(env);
+    }
+
+    @Test
+    void burstIsAllowedThenRejectedWithRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send("GET", "/api/jobs", 1L).getStatus());
+        }
+
+        MockHttpServletResponse limited = send("GET", "/api/jobs", 1L);
+
+        assertEquals(429, limited.getStatus());
+        String retryAfter = limited.getHeader("Retry-After");
+        assertNotNull(retryAfter);
+        long seconds = Long.parseLong(retryAfter);
+        assertTrue(seconds >= 1 && seconds <= 60, "Retry-After was " + seconds);
+        assertEquals(1, filter.getRejected(RateLimitFilter.Group.JOBS_READ));
+    }
+
+    @Test
+    void clientsAndGroupsHaveSeparateBuckets() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            send("POST", "/api/ai/chat", 1L);
+        }
+        assertEquals(429, send("POST", "/api/ai/chat", 1L).getStatus());
+
+        assertEquals(200, send("POST", "/api/ai/chat", 2L).getStatus());
+        assertEquals(200, send("POST", "/api/ai/chat", null).getStatus());
+        assertEquals(200, send("GET", "/api/notifications/1", 1L).getStatus());
+    }
+
+    @Test
+    void nonApiPathsAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = send("GET", "/index.html", 1L);
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("Retry-After"));
+        }
+    }
+
+    @Test
+    void endpointsMapToGroups() {
+        assertEquals(RateLimitFilter.Group.AI, RateLimitFilter.groupOf("POST", "/api/ai/chat/stream"));
+        assertEquals(RateLimitFilter.Group.WRITE, RateLimitFilter.groupOf("POST", "/api/admin/ai/tasks"));
+        assertEquals(RateLimitFilter.Group.AUTH, RateLimitFilter.groupOf("POST", "/api/auth/login"));
+        assertEquals(RateLimitFilter.Group.JOBS_READ, RateLimitFilter.groupOf("GET", "/api/jobs/my-jobs"));
+        assertEquals(RateLimitFilter.Group.WRITE, RateLimitFilter.groupOf("POST", "/api/jobs"));
+        assertEquals(RateLimitFilter.Group.READ, RateLimitFilter.groupOf("GET", "/api/notifications/1"));
+    }
+
+    private MockHttpServletResponse send(String method, String path, Long userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (userId != null) {
+            request.setAttribute(AuthenticatedUser.ATTRIBUTE, new AuthenticatedUser(userId, "FREELANCER"));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
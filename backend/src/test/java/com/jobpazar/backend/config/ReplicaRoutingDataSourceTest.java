@@ -0,0 +1,154 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two separate in-memory databases stand in for the MySQL primary and replica.
+ * Each holds a marker row, so a query shows which one a transaction was routed to.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        Routing routing = routing(false);
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void unmarkedReadOnlyTransactionsStayOnPrimary() {
+        Routing routing = routing(false);
+
+        assertEquals("primary", routing.plainRead());
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void readYourWritesKeepsRequestOnPrimaryAfterWrite() {
+        Routing routing = routing(true);
+        startRequest(null);
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals("primary", routing.read());
+
+        // A new anonymous request is routed normally again
+        startRequest(null);
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void readYourWritesFollowsTokenUserAcrossRequests() {
+        Routing routing = routing(true);
+
+        startRequest(new AuthenticatedUser(7L, "EMPLOYER"));
+        routing.write();
+
+        startRequest(new AuthenticatedUser(7L, "EMPLOYER"));
+        assertEquals("primary", routing.read());
+
+        startRequest(new AuthenticatedUser(8L, "FREELANCER"));
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void backgroundWorkWithoutRequestUsesReplicaForReads() {
+        Routing routing = routing(true);
+
+        routing.write();
+        assertEquals("replica", routing.read());
+    }
+
+    private Routing routing(boolean readYourWrites) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(readYourWrites, 60_000);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new Routing(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    private static void startRequest(AuthenticatedUser user) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (user != null) {
+            request.setAttribute(AuthenticatedUser.ATTRIBUTE, user);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE db_role (name VARCHAR(20))");
+        jdbc.update("INSERT INTO db_role (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class Routing {
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        private Routing(DataSource dataSource) {
+            this.jdbc = new JdbcTemplate(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.readWrite = new TransactionTemplate(transactionManager);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+        }
+
+        // Read-only transaction started by a @ReplicaRead method
+        private String read() {
+            boolean previous = ReplicaRoutingDataSource.markReplicaRead(true);
+            try {
+                return plainRead();
+            } finally {
+                ReplicaRoutingDataSource.markReplicaRead(previous);
+            }
+        }
+
+        // Read-only transaction of anything else, e.g. Spring Data's default on findById
+        private String plainRead() {
+            return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM db_role", String.class));
+        }
+
+        private String write() {
+            return readWrite.execute(status -> jdbc.queryForObject("SELECT name FROM db_role", String.class));
+        }
+    }
+}
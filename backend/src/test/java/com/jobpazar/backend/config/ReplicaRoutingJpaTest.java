@@ -0,0 +1,111 @@
+package com.jobpazar.backend.config;
+
+import com.jobpazar.backend.dto.JobResponse;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.service.JobService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Boots the application with a primary and a replica (two separate in-memory databases)
+ * and checks the routing through JPA: a @ReplicaRead service method under the
+ * JpaTransactionManager reads the replica, while repository writes and repository reads
+ * outside such a method go to the primary.
+ * The replica gets the same schema and one job that only exists there.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.datasource.replica.jdbc-url=" + ReplicaRoutingJpaTest.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.read-your-writes.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.password.bcrypt-strength=4",
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class ReplicaRoutingJpaTest {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void prepareReplica() {
+        DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.update("INSERT INTO users (id, username, password, email, role, deleted) "
+                + "VALUES (1000, 'replica_employer', 'x', 'replica@example.com', 'EMPLOYER', false)");
+        jdbc.update("INSERT INTO jobs (id, title, status, employer_id) VALUES (1000, 'Replica job', 'OPEN', 1000)");
+    }
+
+    @Test
+    void readOnlyServiceCallReadsReplicaAndWritesGoToPrimary() {
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+        assertEquals(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION,
+                entityManagerFactory.getProperties().get(AvailableSettings.CONNECTION_HANDLING));
+
+        User employer = new User();
+        employer.setUsername("primary_employer");
+        employer.setPassword("x");
+        employer.setEmail("primary@example.com");
+        employer.setRole("EMPLOYER");
+        employer = userRepository.save(employer);
+        Job job = new Job();
+        job.setTitle("Primary job");
+        job.setStatus(JobStatus.OPEN);
+        job.setEmployer(employer);
+        jobRepository.save(job);
+
+        List<String> replicaTitles = jobService.getOpenJobPage(0, 100).stream().map(JobResponse::title).toList();
+        // Spring Data's own read-only transaction: the row may be saved right after, so it comes from the primary
+        List<String> repositoryTitles = jobRepository.findAll().stream().map(Job::getTitle).toList();
+        List<String> readWriteTitles = new TransactionTemplate(transactionManager)
+                .execute(status -> jobRepository.findAll().stream().map(Job::getTitle).toList());
+
+        assertEquals(List.of("Replica job"), replicaTitles);
+        assertEquals(List.of("Primary job"), repositoryTitles);
+        assertEquals(List.of("Primary job"), readWriteTitles);
+    }
+}
@@ -0,0 +1,72 @@
+package com.jobpazar.backend.controller;
+
+import com.jobpazar.backend.service.IdentityAvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Two pre-normalization accounts whose emails only differ in case: the backfill fills what
+ * it can, reports the second account to admins, and that account can still log in even
+ * though the plain text password rehash cannot be saved yet.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:legacy-identity;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.password.bcrypt-strength=4",
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class LegacyIdentityLoginTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdentityAvailabilityService identityAvailabilityService;
+
+    @Test
+    void duplicateEmailAccountIsReportedAndCanStillLogIn() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (id, username, password, email, role, deleted) "
+                + "VALUES (900001, 'legacy_one', 'secret1', 'Legacy@Example.com', 'FREELANCER', false)");
+        jdbcTemplate.update("INSERT INTO users (id, username, password, email, role, deleted) "
+                + "VALUES (900002, 'legacy_two', 'secret2', 'legacy@example.com', 'FREELANCER', false)");
+
+        identityAvailabilityService.onStartup();
+
+        assertEquals("legacy_two", jdbcTemplate.queryForObject(
+                "SELECT username_normalized FROM users WHERE id = 900002", String.class));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT email_normalized FROM users WHERE id = 900002", String.class));
+        Collection<?> conflicts = (Collection<?>) identityAvailabilityService.getStats().get("identityConflicts");
+        assertTrue(conflicts.contains(900002L));
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        int status = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"legacy_two\",\"password\":\"secret2\"}"))
+                .andReturn().getResponse().getStatus();
+
+        assertEquals(200, status);
+    }
+}
@@ -0,0 +1,156 @@
+package com.jobpazar.backend.controller;
+
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.entity.ProposalStatus;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.ProposalRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.AuthTokenFilter;
+import com.jobpazar.backend.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Endpoints that change a job, proposal or notification check the caller's token against
+ * the owner: another user's token gets 403, the owner's token succeeds, and a job created
+ * with a token references the employer without loading it.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:ownership;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.password.bcrypt-strength=4",
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class OwnershipCheckTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthTokenFilter authTokenFilter;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    private MockMvc mockMvc;
+    private User employer;
+    private User otherEmployer;
+    private User freelancer;
+    private Job job;
+    private Proposal proposal;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(authTokenFilter).build();
+        employer = user("EMPLOYER");
+        otherEmployer = user("EMPLOYER");
+        freelancer = user("FREELANCER");
+
+        job = new Job();
+        job.setTitle("Owned job");
+        job.setStatus(JobStatus.OPEN);
+        job.setEmployer(employer);
+        job = jobRepository.save(job);
+
+        proposal = new Proposal();
+        proposal.setPrice(100.0);
+        proposal.setStatus(ProposalStatus.PENDING);
+        proposal.setFreelancer(freelancer);
+        proposal.setJob(job);
+        proposal = proposalRepository.save(proposal);
+    }
+
+    @Test
+    void otherUsersTokenIsRefused() throws Exception {
+        assertEquals(403, status(as(otherEmployer, json(put("/api/jobs/{id}", job.getId()),
+                "{\"title\":\"Taken over\"}"))));
+        assertEquals(403, status(as(otherEmployer, delete("/api/jobs/{id}", job.getId()))));
+        assertEquals(403, status(as(otherEmployer, put("/api/proposals/{id}/accept", proposal.getId()))));
+        assertEquals(403, status(as(otherEmployer, put("/api/proposals/{id}/reject", proposal.getId()))));
+        assertEquals(403, status(as(otherEmployer, post("/api/jobs/approve/{jobId}", job.getId()))));
+        assertEquals(403, status(as(otherEmployer, json(post("/api/jobs/deliver/{proposalId}", proposal.getId()),
+                "{\"message\":\"done\"}"))));
+        assertEquals(403, status(as(otherEmployer, get("/api/notifications/{userId}", employer.getId()))));
+
+        assertEquals("Owned job", jobRepository.findById(job.getId()).orElseThrow().getTitle());
+        assertEquals(ProposalStatus.PENDING, proposalRepository.findById(proposal.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void ownerTokenIsAccepted() throws Exception {
+        assertEquals(200, status(as(employer, json(put("/api/jobs/{id}", job.getId()), "{\"title\":\"Renamed\"}"))));
+        assertEquals(200, status(as(employer, put("/api/proposals/{id}/accept", proposal.getId()))));
+        assertEquals(200, status(as(freelancer, json(post("/api/jobs/deliver/{proposalId}", proposal.getId()),
+                "{\"message\":\"done\"}"))));
+        assertEquals(200, status(as(employer, get("/api/notifications/{userId}", employer.getId()))));
+    }
+
+    @Test
+    void jobCreatedWithTokenBelongsToCaller() throws Exception {
+        MvcResult result = mockMvc.perform(as(employer, json(post("/api/jobs"),
+                "{\"title\":\"Token job\",\"description\":\"d\",\"budget\":\"Medium\"}"))).andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertTrue(result.getResponse().getContentAsString().contains("\"id\":" + employer.getId()));
+        assertTrue(jobRepository.findAllByEmployerId(employer.getId()).stream()
+                .anyMatch(j -> "Token job".equals(j.getTitle())));
+    }
+
+    private int status(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization",
+                "Bearer " + tokenService.issueAccessToken(user.getId(), user.getRole()));
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private User user(String role) {
+        User user = new User();
+        user.setUsername("owner-" + UUID.randomUUID());
+        user.setPassword("not-a-real-hash");
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,449 @@
+package com.jobpazar.backend.controller;
+
+import com.jobpazar.backend.entity.Feedback;
+import com.jobpazar.backend.entity.Job;
+import com.jobpazar.backend.entity.JobStatus;
+import com.jobpazar.backend.entity.Notification;
+import com.jobpazar.backend.entity.Proposal;
+import com.jobpazar.backend.entity.ProposalStatus;
+import com.jobpazar.backend.entity.User;
+import com.jobpazar.backend.repository.FeedbackRepository;
+import com.jobpazar.backend.repository.JobRepository;
+import com.jobpazar.backend.repository.NotificationRepository;
+import com.jobpazar.backend.repository.ProposalRepository;
+import com.jobpazar.backend.repository.UserRepository;
+import com.jobpazar.backend.security.PasswordHasher;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * SQL statement budget for every REST endpoint.
+ * <p>
+ * Each endpoint is called twice: once against a small seeded data set and once after a
+ * data set five times larger was added. Statements are counted at the JDBC connection
+ * (Hibernate and JdbcTemplate alike), only for the thread running the request, with the
+ * second-level cache cleared first so cache hits cannot hide a query. The test fails
+ * when an endpoint goes over its budget or needs more statements on the larger data
+ * set, i.e. when it starts issuing one query per row (eager @ManyToOne loads, save()
+ * in a loop). A failure lists the statements that were run.
+ */
+@SpringBootTest(properties = {
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "auth.password.bcrypt-strength=4",
+        // Background jobs would change the data between the two passes
+        "account.purge.interval-ms=3600000",
+        "ai.tasks.poll-interval-ms=3600000"
+})
+class QueryCountRegressionTest {
+
+    private static final int SMALL = 6;
+    private static final int LARGE = 30;
+    private static final String PASSWORD = "secret";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                            ? new CountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithData() throws Exception {
+        List<Endpoint> endpoints = endpoints();
+
+        World small = seed("s", SMALL);
+        Map<String, Measurement> before = measure(endpoints, small);
+
+        World large = seed("l", LARGE);
+        Map<String, Measurement> after = measure(endpoints, large);
+
+        List<String> failures = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            Measurement b = before.get(endpoint.name());
+            Measurement a = after.get(endpoint.name());
+            if (b.status() >= 300 || a.status() >= 300) {
+                failures.add(endpoint.name() + ": HTTP " + b.status() + "/" + a.status());
+            } else if (a.statements().size() > b.statements().size()) {
+                failures.add(endpoint.name() + ": " + b.statements().size() + " statements with " + SMALL
+                        + " rows, " + a.statements().size() + " with " + LARGE + " rows " + a.statements());
+            } else if (a.statements().size() > endpoint.budget()) {
+                failures.add(endpoint.name() + ": " + a.statements().size() + " statements, budget "
+                        + endpoint.budget() + " " + a.statements());
+            }
+        }
+
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    // In call order: later entries rely on the state left by earlier ones (deliver -> approve)
+    private List<Endpoint> endpoints() {
+        List<Endpoint> list = new ArrayList<>();
+
+        list.add(new Endpoint("GET /api/jobs", 2, w -> get("/api/jobs")));
+        list.add(new Endpoint("GET /api/jobs/{id}", 2, w -> get("/api/jobs/{id}", w.job(0))));
+        list.add(new Endpoint("GET /api/jobs/my-jobs", 2,
+                w -> get("/api/jobs/my-jobs").param("userId", w.employerId())));
+        list.add(new Endpoint("POST /api/jobs", 3,
+                w -> json(post("/api/jobs").param("employerId", w.employerId()),
+                        "{\"title\":\"New job\",\"description\":\"d\",\"budget\":\"Medium\","
+                                + "\"category\":\"Software\",\"duration\":5}")));
+        list.add(new Endpoint("PUT /api/jobs/{id}", 3,
+                w -> json(put("/api/jobs/{id}", w.job(4)),
+                        "{\"title\":\"Updated\",\"description\":\"d\",\"budget\":\"Medium\","
+                                + "\"category\":\"Software\",\"duration\":5}")));
+        list.add(new Endpoint("DELETE /api/jobs/{id}", 3, w -> delete("/api/jobs/{id}", w.job(w.size() - 1))));
+
+        list.add(new Endpoint("GET /api/proposals/{jobId}", 2, w -> get("/api/proposals/{jobId}", w.job(0))));
+        list.add(new Endpoint("GET /api/proposals/my-proposals", 2,
+                w -> get("/api/proposals/my-proposals").param("freelancerId", w.freelancerId(0))));
+        list.add(new Endpoint("GET /api/proposals/my-proposal", 4,
+                w -> get("/api/proposals/my-proposal").param("jobId", String.valueOf(w.job(0)))
+                        .param("freelancerId", w.freelancerId(0))));
+        list.add(new Endpoint("POST /api/proposals/{jobId}", 6,
+                w -> json(post("/api/proposals/{jobId}", w.job(1)).param("freelancerId", w.freelancerId(1)),
+                        "{\"price\":10000,\"coverLetter\":\"Updated offer\",\"daysToDeliver\":3}")));
+        list.add(new Endpoint("PUT /api/proposals/{id}/accept", 6,
+                w -> put("/api/proposals/{id}/accept", w.proposals().get("accept"))));
+        list.add(new Endpoint("PUT /api/proposals/{id}/reject", 3,
+                w -> put("/api/proposals/{id}/reject", w.proposals().get("reject"))));
+
+        list.add(new Endpoint("POST /api/jobs/deliver/{proposalId}", 6,
+                w -> json(post("/api/jobs/deliver/{proposalId}", w.proposals().get("deliver")),
+                        "{\"message\":\"Done\",\"fileUrl\":\"https://example.com/work.zip\"}")));
+        list.add(new Endpoint("POST /api/jobs/approve/{jobId}", 6, w -> post("/api/jobs/approve/{jobId}", w.job(2))));
+        list.add(new Endpoint("POST /api/jobs/revision/{jobId}", 6,
+                w -> json(post("/api/jobs/revision/{jobId}", w.job(3)), "{\"feedback\":\"Please fix\"}")));
+
+        list.add(new Endpoint("GET /api/notifications/{userId}", 3,
+                w -> get("/api/notifications/{userId}", w.employer().getId())));
+        list.add(new Endpoint("PUT /api/notifications/{id}/read", 3,
+                w -> put("/api/notifications/{id}/read", w.notificationId())));
+
+        list.add(new Endpoint("POST /api/feedbacks", 3,
+                w -> json(post("/api/feedbacks"),
+                        "{\"userId\":" + w.freelancerId(0) + ",\"message\":\"Great site\"}")));
+        list.add(new Endpoint("GET /api/feedbacks", 2, w -> get("/api/feedbacks")));
+
+        list.add(new Endpoint("GET /api/users/{userId}", 2, w -> get("/api/users/{userId}", w.freelancerId(0))));
+        list.add(new Endpoint("POST /api/users/{userId}/request-role", 3,
+                w -> post("/api/users/{userId}/request-role", w.freelancerId(1)).param("role", "EMPLOYER")));
+
+        list.add(new Endpoint("GET /api/auth/user/{id}", 2, w -> get("/api/auth/user/{id}", w.employer().getId())));
+        list.add(new Endpoint("GET /api/auth/availability", 2,
+                w -> get("/api/auth/availability").param("username", w.tag() + "-free-name")));
+        list.add(new Endpoint("POST /api/auth/login", 3,
+                w -> json(post("/api/auth/login"),
+                        "{\"username\":\"" + w.employer().getUsername() + "\",\"password\":\"" + PASSWORD + "\"}")));
+        list.add(new Endpoint("PUT /api/auth/update", 4,
+                w -> json(put("/api/auth/update"), "{\"userId\":\"" + w.employer().getId()
+                        + "\",\"currentPassword\":\"" + PASSWORD + "\",\"bio\":\"Hiring\"}")));
+        list.add(new Endpoint("DELETE /api/auth/delete-account", 3,
+                w -> json(delete("/api/auth/delete-account"),
+                        "{\"username\":\"" + w.leaving().getUsername() + "\",\"password\":\"" + PASSWORD + "\"}")));
+
+        list.add(new Endpoint("GET /api/admin/users", 2, w -> get("/api/admin/users")));
+        // Page size below the seeded row count so both passes run the count query
+        list.add(new Endpoint("GET /api/admin/users/search", 3,
+                w -> get("/api/admin/users/search").param("q", w.tag() + "-").param("size", "5")));
+        list.add(new Endpoint("GET /api/admin/users/role-requests", 3,
+                w -> get("/api/admin/users/role-requests").param("size", "5")));
+        list.add(new Endpoint("GET /api/admin/jobs", 2, w -> get("/api/admin/jobs")));
+        list.add(new Endpoint("GET /api/admin/stats", 1, w -> get("/api/admin/stats")));
+        list.add(new Endpoint("POST /api/admin/feedback/reply", 4,
+                w -> json(post("/api/admin/feedback/reply"),
+                        "{\"feedbackId\":" + w.feedbackId() + ",\"reply\":\"Thanks\"}")));
+        list.add(new Endpoint("PUT /api/admin/users/{id}", 3,
+                w -> json(put("/api/admin/users/{id}", w.freelancerId(2)), "{\"bio\":\"Edited by admin\"}")));
+        list.add(new Endpoint("DELETE /api/admin/users/{id}", 2,
+                w -> delete("/api/admin/users/{id}", w.freelancerId(3))));
+        // Job row and proposal counts for the stats counters, then two deletes
+        list.add(new Endpoint("DELETE /api/admin/jobs/{id}", 4,
+                w -> delete("/api/admin/jobs/{id}", w.job(w.size() - 2))));
+        list.add(new Endpoint("GET /api/admin/analytics/daily", 2,
+                w -> get("/api/admin/analytics/daily").param("from", LocalDate.now().minusDays(30).toString())
+                        .param("to", LocalDate.now().toString())));
+
+        return list;
+    }
+
+    private Map<String, Measurement> measure(List<Endpoint> endpoints, World world) throws Exception {
+        Map<String, Measurement> result = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            MockHttpServletRequestBuilder request = endpoint.request().apply(world);
+            entityManagerFactory.getCache().evictAll();
+
+            StatementCounter.start();
+            int status;
+            try {
+                status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+            } finally {
+                StatementCounter.stop();
+            }
+            result.put(endpoint.name(), new Measurement(status, StatementCounter.statements()));
+        }
+        return result;
+    }
+
+    // n jobs for one employer, n more from n-1 other employers, n freelancers bidding on the
+    // first four jobs (the third in progress, the fourth under review), n notifications and feedbacks
+    private World seed(String tag, int n) {
+        User employer = user(tag + "-employer", "EMPLOYER");
+        User leaving = user(tag + "-leaving", "FREELANCER");
+        List<User> freelancers = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            User freelancer = user(tag + "-freelancer-" + i, "FREELANCER");
+            freelancer.setRequestedRole("EMPLOYER");
+            freelancers.add(freelancer);
+        }
+        userRepository.saveAll(freelancers);
+
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            jobs.add(job(employer, i == 2 ? JobStatus.IN_PROGRESS : i == 3 ? JobStatus.REVIEW : JobStatus.OPEN));
+        }
+        jobRepository.saveAll(jobs);
+
+        List<Job> otherJobs = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            otherJobs.add(job(user(tag + "-employer-" + i, "EMPLOYER"), JobStatus.OPEN));
+        }
+        jobRepository.saveAll(otherJobs);
+
+        List<Proposal> proposals = new ArrayList<>();
+        Map<String, Long> named = new LinkedHashMap<>();
+        for (int j = 0; j < 4; j++) {
+            for (int f = 0; f < n; f++) {
+                ProposalStatus status = ProposalStatus.PENDING;
+                if (j >= 2) {
+                    status = f == 0 ? ProposalStatus.ACCEPTED : ProposalStatus.REJECTED;
+                }
+                proposals.add(proposal(freelancers.get(f), jobs.get(j), status));
+            }
+        }
+        for (Job other : otherJobs) {
+            proposals.add(proposal(freelancers.get(0), other, ProposalStatus.PENDING));
+        }
+        proposalRepository.saveAll(proposals);
+        named.put("accept", proposals.get(0).getId());
+        named.put("reject", proposals.get(n + 2).getId());
+        named.put("deliver", proposals.get(2 * n).getId());
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Notification notification = new Notification();
+            notification.setUser(employer);
+            notification.setMessage("Notification " + i);
+            notification.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+
+        List<Feedback> feedbacks = new ArrayList<>();
+        for (User freelancer : freelancers) {
+            Feedback feedback = new Feedback();
+            feedback.setUser(freelancer);
+            feedback.setMessage("Feedback from " + freelancer.getUsername());
+            feedback.setCreatedAt(LocalDateTime.now());
+            feedbacks.add(feedback);
+        }
+        feedbackRepository.saveAll(feedbacks);
+
+        return new World(tag, n, employer, leaving, freelancers, jobs, named,
+                notifications.get(0).getId(), feedbacks.get(0).getId());
+    }
+
+    private User user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@jobpazar.com");
+        user.setPassword(passwordHasher.hash(PASSWORD));
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static Job job(User employer, JobStatus status) {
+        Job job = new Job();
+        job.setTitle("Job of " + employer.getUsername());
+        job.setDescription("Seeded for the query count test");
+        job.setBudget("Medium");
+        job.setCategory("Software");
+        job.setDuration(7);
+        job.setStatus(status);
+        job.setEmployer(employer);
+        return job;
+    }
+
+    private static Proposal proposal(User freelancer, Job job, ProposalStatus status) {
+        Proposal proposal = new Proposal();
+        proposal.setFreelancer(freelancer);
+        proposal.setJob(job);
+        proposal.setPrice(10000.0);
+        proposal.setDaysToDeliver(5);
+        proposal.setCoverLetter("Offer from " + freelancer.getUsername());
+        proposal.setStatus(status);
+        return proposal;
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private record Endpoint(String name, int budget, Function<World, MockHttpServletRequestBuilder> request) {
+    }
+
+    private record Measurement(int status, List<String> statements) {
+    }
+
+    private record World(String tag, int size, User employer, User leaving, List<User> freelancers, List<Job> jobs,
+            Map<String, Long> proposals, Long notificationId, Long feedbackId) {
+
+        String employerId() {
+            return String.valueOf(employer.getId());
+        }
+
+        String freelancerId(int index) {
+            return String.valueOf(freelancers.get(index).getId());
+        }
+
+        Long job(int index) {
+            return jobs.get(index).getId();
+        }
+    }
+
+    // Records the SQL of every statement prepared on the thread that started counting
+    static final class StatementCounter {
+        private static volatile Thread thread;
+        private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        static void start() {
+            statements.clear();
+            thread = Thread.currentThread();
+        }
+
+        static void stop() {
+            thread = null;
+        }
+
+        static List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        static void record(String sql) {
+            if (Thread.currentThread() == thread) {
+                statements.add(sql);
+            }
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                            StatementCounter.record((String) args[0]);
+                        } else if (name.equals("createStatement")) {
+                            StatementCounter.record("<statement>");
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.jobpazar.backend.service;
+
+import com.jobpazar.backend.config.WebClientConfig;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires a burst of concurrent requests at a local fake Gemini server with a fixed latency.
+ * With the non-blocking client the whole burst should finish in roughly one round trip.
+ */
+class GeminiServiceLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final long FAKE_LATENCY_MS = 500;
+
+    @Test
+    void burstCompletesInAboutOneRoundTrip() throws Exception {
+        try (FakeGemini fakeGemini = new FakeGemini(exchange -> {
+            try {
+                Thread.sleep(FAKE_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\" merhaba \"}]}}]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        })) {
+            GeminiService geminiService = geminiService(fakeGemini.baseUrl());
+            long start = System.nanoTime();
+
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(geminiService.generateContentAsync("prompt " + i));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            for (CompletableFuture<String> f : futures) {
+                assertEquals(" merhaba ", f.get());
+            }
+
+            // Sequential blocking calls would take CONCURRENT_REQUESTS * FAKE_LATENCY_MS (100s)
+            assertTrue(elapsedMs < FAKE_LATENCY_MS * 10,
+                    CONCURRENT_REQUESTS + " requests took " + elapsedMs + " ms");
+        }
+    }
+
+    @Test
+    void providerErrorKeepsStatusCode() throws Exception {
+        try (FakeGemini fakeGemini = new FakeGemini(exchange -> {
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        })) {
+            CompletableFuture<String> future = geminiService(fakeGemini.baseUrl()).generateContentAsync("prompt");
+            Throwable error = future.handle((r, e) -> e).join();
+
+            assertTrue(error instanceof ResponseStatusException);
+            assertEquals(429, ((ResponseStatusException) error).getStatusCode().value());
+        }
+    }
+
+    private static GeminiService geminiService(String base) {
+        WebClient client = new WebClientConfig().geminiWebClient(WebClient.builder(), base,
+                2000, 5000, CONCURRENT_REQUESTS, 5000);
+
+        // Limits wide open so the test measures the client, not the guard
+        GeminiTrafficGuard guard = new GeminiTrafficGuard(60_000, CONCURRENT_REQUESTS, CONCURRENT_REQUESTS,
+                5000, CONCURRENT_REQUESTS, 5, 30_000);
+        GeminiService geminiService = new GeminiService(client, guard);
+        ReflectionTestUtils.setField(geminiService, "apiKey", "test");
+        ReflectionTestUtils.setField(geminiService, "apiVersion", "v1beta");
+        ReflectionTestUtils.setField(geminiService, "apiModel", "fake-model");
+        return geminiService;
+    }
+
+    // Local stand-in for the Gemini API; closing it stops the server and its handler threads
+    private static final class FakeGemini implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        private final HttpServer server;
+
+        private FakeGemini(HttpHandler handler) throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(executor);
+            server.createContext("/v1beta/models/", handler);
+            server.start();
+        }
+
+        private String baseUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        @Override
+        public void close() {
+            try (executor) { // waits for running handlers
+                server.stop(0);
+            }
+        }
+    }
+}
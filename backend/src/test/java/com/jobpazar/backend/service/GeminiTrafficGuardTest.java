@@ -0,0 +1,132 @@
+package com.jobpazar.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Limiter and circuit breaker of GeminiTrafficGuard, driven with in-memory Monos instead of
+ * real provider calls.
+ */
+class GeminiTrafficGuardTest {
+
+    // requestsPerMinute, burst, maxQueue, maxWaitMs, perClientMax, failureThreshold, openMs
+    private static GeminiTrafficGuard guard(int requestsPerMinute, int burst, long maxWaitMs, int perClientMax,
+            int failureThreshold, long openMs) {
+        return new GeminiTrafficGuard(requestsPerMinute, burst, 100, maxWaitMs, perClientMax, failureThreshold,
+                openMs);
+    }
+
+    @Test
+    void burstIsServedThenQueueWaitLimitRejects() {
+        // Burst of two, then one permit per second; callers may wait at most 100 ms.
+        // The bucket bills in advance: the caller after the burst starts at once and the
+        // one after it would have to wait a full interval.
+        GeminiTrafficGuard guard = guard(60, 2, 100, 10, 5, 30_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ok", guard.guard("a", Mono.just("ok")).block());
+        }
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> guard.guard("a", Mono.just("ok")).block());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+        assertEquals(1, guard.getRejectedQueueFull());
+    }
+
+    @Test
+    void cancelledWaiterGivesItsStartTimeBack() {
+        // One stored permit, then one per second; waits of up to 1.5 s are allowed
+        GeminiTrafficGuard guard = guard(60, 1, 1500, 10, 5, 30_000);
+        guard.guard("a", Mono.just("ok")).block();
+        guard.guard("a", Mono.just("ok")).block(); // next caller is due in ~1 s
+
+        Disposable waiting = guard.guard("b", Mono.just("ok")).subscribe();
+        assertEquals(1, guard.getQueueDepth());
+        waiting.dispose();
+        assertEquals(0, guard.getQueueDepth());
+
+        // Without the refund this caller would be due in ~2 s, beyond the 1.5 s limit
+        AtomicInteger rejected = new AtomicInteger();
+        Disposable next = guard.guard("c", Mono.just("ok")).subscribe(v -> {
+        }, e -> rejected.incrementAndGet());
+        next.dispose();
+        assertEquals(0, rejected.get());
+        assertEquals(0, guard.getRejectedQueueFull());
+    }
+
+    @Test
+    void perClientLimitOnlyAffectsThatClient() {
+        GeminiTrafficGuard guard = guard(60_000, 100, 5000, 2, 5, 30_000);
+        Disposable first = guard.guard("a", Mono.never()).subscribe();
+        Disposable second = guard.guard("a", Mono.never()).subscribe();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> guard.guard("a", Mono.just("ok")).block());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+        assertEquals("ok", guard.guard("b", Mono.just("ok")).block());
+
+        first.dispose();
+        second.dispose();
+        assertEquals("ok", guard.guard("a", Mono.just("ok")).block());
+        assertEquals(1, guard.getRejectedPerClient());
+    }
+
+    @Test
+    void breakerOpensAfterProviderFailuresAndClosesAfterTrial() throws Exception {
+        GeminiTrafficGuard guard = guard(60_000, 100, 5000, 10, 3, 100);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE));
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResponseStatusException.class, () -> guard.guard("a", failing).block());
+        }
+        assertEquals(GeminiTrafficGuard.BreakerState.OPEN, guard.getBreakerState());
+
+        // Fails fast without reaching the provider
+        ResponseStatusException open = assertThrows(ResponseStatusException.class,
+                () -> guard.guard("a", failing).block());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, open.getStatusCode());
+        assertEquals(3, calls.get());
+        assertEquals(1, guard.getRejectedBreakerOpen());
+
+        Thread.sleep(150);
+        assertEquals(GeminiTrafficGuard.BreakerState.HALF_OPEN, guard.getBreakerState());
+        assertEquals("ok", guard.guard("a", Mono.just("ok")).block());
+        assertEquals(GeminiTrafficGuard.BreakerState.CLOSED, guard.getBreakerState());
+    }
+
+    @Test
+    void failedTrialReopensBreaker() throws Exception {
+        GeminiTrafficGuard guard = guard(60_000, 100, 5000, 10, 1, 100);
+        Mono<String> failing = Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY));
+
+        assertThrows(ResponseStatusException.class, () -> guard.guard("a", failing).block());
+        Thread.sleep(150);
+        assertThrows(ResponseStatusException.class, () -> guard.guard("a", failing).block());
+
+        assertEquals(GeminiTrafficGuard.BreakerState.OPEN, guard.getBreakerState());
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsProviderFailures() {
+        GeminiTrafficGuard guard = guard(60_000, 100, 5000, 10, 2, 30_000);
+        Mono<String> badRequest = Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(ResponseStatusException.class, () -> guard.guard("a", badRequest).block());
+        }
+
+        assertEquals(GeminiTrafficGuard.BreakerState.CLOSED, guard.getBreakerState());
+    }
+}
@@ -0,0 +1,117 @@
+package com.jobpazar.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Input budgets of PromptRegistry: the fair-share split between slots and the head/tail
+ * truncation of a single input.
+ */
+class PromptRegistryTest {
+
+    private static final String MARKER = " [...] ";
+
+    @Test
+    void inputsWithinBudgetAreReturnedUnchanged() {
+        Map<String, String> inputs = Map.of("a", "kısa", "b", "metin");
+
+        assertSame(inputs, PromptRegistry.applyBudget(inputs, 100));
+    }
+
+    @Test
+    void emptyAndMissingSlotsLeaveTheBudgetToTheOthers() {
+        Map<String, String> inputs = new HashMap<>();
+        inputs.put("empty", "");
+        inputs.put("missing", null);
+        inputs.put("long", words(200));
+
+        Map<String, String> result = PromptRegistry.applyBudget(inputs, 120);
+
+        assertEquals("", result.get("empty"));
+        assertTrue(result.containsKey("missing"));
+        assertNull(result.get("missing"));
+        assertTrue(result.get("long").length() <= 120);
+        assertTrue(result.get("long").length() > 100, "budget was not used: " + result.get("long").length());
+    }
+
+    @Test
+    void singleWordLongerThanTheBudgetIsCutInside() {
+        String word = "a".repeat(80) + "z".repeat(80);
+
+        String cut = PromptRegistry.truncate(word, 50);
+
+        assertEquals(50, cut.length());
+        assertTrue(cut.startsWith("aaaa") && cut.endsWith("zzzz"));
+        assertTrue(cut.contains(MARKER));
+    }
+
+    @Test
+    void budgetSmallerThanTheMarkerKeepsOnlyTheHead() {
+        assertEquals("abc", PromptRegistry.truncate("abcdefghijkl", 3));
+        assertEquals("", PromptRegistry.truncate("abcdefghijkl", 0));
+    }
+
+    @Test
+    void truncationKeepsWholeWordsAtBothEnds() {
+        String text = words(100);
+
+        String cut = PromptRegistry.truncate(text, 200);
+
+        assertTrue(cut.length() <= 200);
+        String head = cut.substring(0, cut.indexOf(MARKER));
+        String tail = cut.substring(cut.indexOf(MARKER) + MARKER.length());
+        assertTrue(text.startsWith(head) && head.endsWith(word(head.split(" ").length - 1)), head);
+        assertTrue(text.endsWith(tail) && tail.startsWith("kelime"), tail);
+    }
+
+    @Test
+    void severalSlotsOverBudgetShareItEvenly() {
+        Map<String, String> inputs = Map.of("short", "tamam", "first", words(100), "second", words(100));
+
+        Map<String, String> result = PromptRegistry.applyBudget(inputs, 305);
+
+        assertEquals("tamam", result.get("short"));
+        int total = result.values().stream().mapToInt(String::length).sum();
+        assertTrue(total <= 305, "total " + total);
+        // Each large slot gets about half of what the short one left over
+        assertTrue(Math.abs(result.get("first").length() - result.get("second").length()) < 20);
+        assertTrue(result.get("first").contains(MARKER) && result.get("second").contains(MARKER));
+    }
+
+    @Test
+    void truncatedRenderIsCounted() {
+        MockEnvironment env = new MockEnvironment().withProperty("ai.prompt.budget.chat", "10");
+        PromptRegistry registry = new PromptRegistry(env);
+
+        registry.render(PromptRegistry.CHAT, Map.of("message", "kısa"));
+        String prompt = registry.render(PromptRegistry.CHAT, Map.of("message", words(100)));
+
+        assertTrue(prompt.contains(MARKER));
+        Map<?, ?> chat = (Map<?, ?>) registry.snapshot().get(PromptRegistry.CHAT);
+        assertEquals(2L, chat.get("calls"));
+        assertEquals(1L, chat.get("truncated"));
+    }
+
+    private static String words(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word(i));
+        }
+        return sb.toString();
+    }
+
+    private static String word(int i) {
+        return "kelime" + i;
+    }
+}
@@ -0,0 +1,108 @@
+#!/usr/bin/env bash
+#
+# Startup-time comparison of the backend launch modes.
+#
+#   jar            java -jar on the regular fat jar
+#   extracted      jar extracted for CDS (target/fast-startup), no AOT
+#   aot            extracted + Spring AOT (-Dspring.aot.enabled=true)
+#   aot-cds        extracted + AOT + class-data-sharing archive
+#   aot-cds-defer  as aot-cds, non-critical startup work in the background
+#
+# Each mode is started RUNS times; the script records the time until the readiness
+# probe answers and the "Started ... in N seconds" figure Spring Boot logs, then prints
+# the medians. The application connects to the database from application.properties,
+# override it with the usual variables (SPRING_DATASOURCE_URL, ...).
+#
+# Usage: ./startup-benchmark.sh            build with -Pfast-startup, then measure
+#        SKIP_BUILD=1 RUNS=10 ./startup-benchmark.sh
+#        MODES="jar aot-cds" ./startup-benchmark.sh
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+RUNS=${RUNS:-5}
+MODES=${MODES:-"jar extracted aot aot-cds aot-cds-defer"}
+PORT=${PORT:-18080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-18081}
+TIMEOUT_S=${TIMEOUT_S:-120}
+
+JAR_NAME=backend-0.0.1-SNAPSHOT.jar
+FAST_DIR=target/fast-startup
+LOG=target/startup-benchmark.log
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    ./mvnw -B -q -Pfast-startup -DskipTests package
+fi
+[[ -f "target/$JAR_NAME" && -f "$FAST_DIR/$JAR_NAME" && -f "$FAST_DIR/application.jsa" ]] || {
+    echo "Missing build output, run without SKIP_BUILD" >&2
+    exit 1
+}
+
+# date +%s%3N is GNU-only
+now_ms() {
+    perl -MTime::HiRes=time -e 'printf "%d\n", time * 1000'
+}
+
+command_for() {
+    case "$1" in
+        jar)           echo "java -jar target/$JAR_NAME" ;;
+        extracted)     echo "java -jar $FAST_DIR/$JAR_NAME" ;;
+        aot)           echo "java -Dspring.aot.enabled=true -jar $FAST_DIR/$JAR_NAME" ;;
+        aot-cds|aot-cds-defer)
+                       echo "java -XX:SharedArchiveFile=$FAST_DIR/application.jsa -Dspring.aot.enabled=true -jar $FAST_DIR/$JAR_NAME" ;;
+        *)             echo "Unknown mode: $1" >&2; exit 1 ;;
+    esac
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# Starts the application once, prints "<ms until ready> <seconds logged by Spring Boot>"
+measure() {
+    local mode=$1 defer=false
+    [[ "$mode" == "aot-cds-defer" ]] && defer=true
+
+    local start pid
+    start=$(now_ms)
+    STARTUP_DEFER_NON_CRITICAL=$defer $(command_for "$mode") \
+        --server.port="$PORT" \
+        --management.server.port="$MANAGEMENT_PORT" \
+        --management.endpoint.health.probes.enabled=true \
+        > "$LOG" 2>&1 &
+    pid=$!
+
+    local ready=""
+    while (( $(now_ms) - start < TIMEOUT_S * 1000 )); do
+        if curl -fs -o /dev/null "http://127.0.0.1:$MANAGEMENT_PORT/actuator/health/readiness"; then
+            ready=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    if [[ -z "$ready" ]]; then
+        echo "$mode: not ready within ${TIMEOUT_S}s, see $LOG" >&2
+        exit 1
+    fi
+    local logged
+    logged=$(grep -o 'Started JobPazarBackendApplication in [0-9.]*' "$LOG" | awk '{ print $NF }')
+    echo "$ready ${logged:--}"
+}
+
+printf '%-15s %16s %22s\n' "Mode" "Ready (ms)" "Boot-reported (s)"
+for mode in $MODES; do
+    measure "$mode" > /dev/null # warm the OS file cache, not counted
+    results=()
+    for ((i = 0; i < RUNS; i++)); do
+        results+=("$(measure "$mode")")
+    done
+    ready_median=$(printf '%s\n' "${results[@]}" | awk '{ print $1 }' | median)
+    logged_median=$(printf '%s\n' "${results[@]}" | awk '$2 != "-" { print $2 }' | median)
+    printf '%-15s %16s %22s\n' "$mode" "$ready_median" "$logged_median"
+done
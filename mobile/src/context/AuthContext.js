@@ -14,6 +14,7 @@ export const AuthProvider = ({ children }) => {
         try {
             const response = await api.post('/auth/login', { username, password });
             const userData = response.data;
+            setAuthToken(userData.accessToken, userData.refreshToken);
             setUser(userData);
             setIsGuest(false);
             return { success: true };
@@ -53,7 +54,7 @@ export const AuthProvider = ({ children }) => {
     const logout = () => {
         setUser(null);
         setIsGuest(false);
-        setAuthToken(null);
+        setAuthToken(null, null);
     };
 
     return (
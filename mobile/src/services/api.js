@@ -12,12 +12,38 @@ const api = axios.create({
     },
 });
 
-export const setAuthToken = (token) => {
+let refreshToken = null;
+
+export const setAuthToken = (token, newRefreshToken) => {
     if (token) {
         api.defaults.headers.common['Authorization'] = `Bearer ${token}`;
     } else {
         delete api.defaults.headers.common['Authorization'];
     }
+    if (newRefreshToken !== undefined) {
+        refreshToken = newRefreshToken;
+    }
 };
 
+// Access tokens are short-lived: on 401, exchange the refresh token once and retry
+api.interceptors.response.use(
+    (response) => response,
+    async (error) => {
+        const original = error.config;
+        if (error.response && error.response.status === 401 && refreshToken && !original._retried
+            && !original.url.startsWith('/auth/')) {
+            original._retried = true;
+            try {
+                const response = await axios.post(`${API_URL}/auth/refresh`, { refreshToken });
+                setAuthToken(response.data.accessToken, response.data.refreshToken);
+                original.headers['Authorization'] = `Bearer ${response.data.accessToken}`;
+                return api(original);
+            } catch (refreshError) {
+                setAuthToken(null, null);
+            }
+        }
+        return Promise.reject(error);
+    }
+);
+
 export default api;